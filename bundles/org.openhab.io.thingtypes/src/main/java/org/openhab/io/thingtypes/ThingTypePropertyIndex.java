@@ -0,0 +1,48 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ThingType;
+
+/**
+ * Resolves the {@link ThingType}s provided from files by their properties, for example to find the candidate types
+ * for a discovered device from its manufacturer and device IDs, without iterating all types.
+ * <p>
+ * The index always reflects the {@link ThingType}s currently provided by this add-on.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public interface ThingTypePropertyIndex {
+
+    /**
+     * Returns the UIDs of the {@link ThingType}s that have the specified property value.
+     *
+     * @param name the property name.
+     * @param value the property value.
+     * @return The immutable {@link Set} of matching {@link ThingTypeUID}s, which is empty if there are none.
+     */
+    Set<ThingTypeUID> getThingTypeUIDs(String name, String value);
+
+    /**
+     * Returns the UIDs of the {@link ThingType}s that have all the specified property values.
+     *
+     * @param properties the property names and values that must all match.
+     * @return The immutable {@link Set} of matching {@link ThingTypeUID}s, which is empty if there are none or if
+     *         {@code properties} is empty.
+     */
+    Set<ThingTypeUID> getThingTypeUIDs(Map<String, String> properties);
+}
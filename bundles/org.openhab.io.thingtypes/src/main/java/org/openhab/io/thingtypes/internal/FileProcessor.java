@@ -10,33 +10,82 @@
  */
 package org.openhab.io.thingtypes.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.openhab.core.config.core.xml.util.XmlDocumentReader;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.Configuration;
 import org.openhab.core.service.WatchService;
 import org.openhab.core.service.WatchService.Kind;
 import org.openhab.core.service.WatchService.WatchEventListener;
+import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
 import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeUID;
 import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.cache.CachedResultMapper;
+import org.openhab.io.thingtypes.internal.cache.DefinitionCache;
 import org.openhab.io.thingtypes.internal.copied.ChannelGroupTypeXmlResult;
 import org.openhab.io.thingtypes.internal.copied.ChannelTypeXmlResult;
 import org.openhab.io.thingtypes.internal.copied.ThingDescriptionReader;
 import org.openhab.io.thingtypes.internal.copied.ThingTypeXmlResult;
-import org.openhab.io.thingtypes.internal.provider.FileChannelGroupTypeProvider;
-import org.openhab.io.thingtypes.internal.provider.FileChannelTypeProvider;
-import org.openhab.io.thingtypes.internal.provider.FileThingTypeProvider;
+import org.openhab.io.thingtypes.internal.parser.StaxThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.provider.FileDefinitions;
+import org.openhab.io.thingtypes.internal.provider.FileDefinitions.Definition;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openhab.io.thingtypes.internal.provider.LazyThingType;
+import org.openhab.io.thingtypes.internal.util.FileContent;
+import org.openhab.io.thingtypes.internal.util.FileState;
+import org.openhab.io.thingtypes.internal.util.PathEventCoalescer;
+import org.openhab.io.thingtypes.internal.util.PathSerializer;
+import org.openhab.io.thingtypes.internal.util.SharedDescriptions;
 import org.openhab.io.thingtypes.internal.util.ThingTypesUtil;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -44,6 +93,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.thoughtworks.xstream.converters.ConversionException;
+
 /**
  * Parses files from the dedicated configuration folder into {@link ThingType}s, {@link ChannelType}s and
  * {@link ChannelGroupType}s.
@@ -51,100 +102,616 @@ import org.slf4j.LoggerFactory;
  * @author Ravi Nadahar - Initial contribution
  */
 @NonNullByDefault
-@Component(immediate = true)
+@Component(immediate = true, configurationPid = ThingTypesConfiguration.CONFIGURATION_PID)
 public class FileProcessor implements WatchEventListener {
 
     /** The configuration subfolder name */
     public static final String FOLDER_NAME = "thingtypes";
 
+    /** The name of the definition cache subfolder in the userdata cache folder */
+    public static final String CACHE_FOLDER_NAME = "org.openhab.io.thingtypes";
+
+    /** The name of the shared scheduled thread pool */
+    public static final String THREAD_POOL_NAME = "thingtypes";
+
     /** The supported file extensions in lower case */
     public static final Set<String> SUPPORTED_EXTENSIONS = Set.of("xml");
+
+    /** The file extension of translation files in lower case */
+    public static final String TRANSLATION_EXTENSION = "properties";
+
+    /** The number of files whose definitions are published together during the initial scan */
+    public static final int SCAN_BATCH_SIZE = 100;
+
+    /** The maximum time in seconds to wait for running ingest work to finish when deactivated */
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 5L;
+
+    /** The maximum number of idle readers kept for reuse, per parser */
+    public static final int MAX_IDLE_READERS = 8;
+
+    private static final Pattern LANGUAGE_PATTERN = Pattern.compile("[a-z]{2,3}");
+    private static final Pattern COUNTRY_PATTERN = Pattern.compile("[A-Z]{2}|[0-9]{3}");
     private final Logger logger = LoggerFactory.getLogger(FileProcessor.class);
-    private final XmlDocumentReader<List<?>> thingTypeReader;
+    // Idle readers for reuse by the ingest threads and the threads that rehydrate thing types. The readers aren't
+    // thread-safe, so a reader is taken from the queue while in use.
+    private final BlockingQueue<ThingDescriptionReader> thingTypeReaders = new ArrayBlockingQueue<>(MAX_IDLE_READERS);
+    private final BlockingQueue<StaxThingDescriptionReader> staxReaders = new ArrayBlockingQueue<>(MAX_IDLE_READERS);
     private final WatchService watchService;
 
-    private final FileThingTypeProvider fileThingTypeProvider;
-    private final FileChannelTypeProvider fileChannelTypeProvider;
-    private final FileChannelGroupTypeProvider fileChannelGroupTypeProvider;
+    private final FileTypeStore store;
+
+    // Stale once this instance is deactivated, so that results from work still running are dropped
+    private final FileTypeStore.Publisher publisher;
+    private final FileTypeStore.Rehydrator rehydrator = this::rehydrate;
+
+    private final FileTypeLocalizer localizer;
+
+    private ThingTypesConfiguration config = new ThingTypesConfiguration();
+
+    // Only set once, from the initializer thread
+    private volatile @Nullable DefinitionCache definitionCache;
+
+    // Created when first needed, must only be set while holding "this"
+    private volatile @Nullable ThreadPoolExecutor ingestExecutor;
+
+    // Must only be set while holding "this"
+    private boolean deactivated;
+
+    // Created in activate(), before any events can be received
+    private volatile @Nullable PathEventCoalescer coalescer;
+
+    // Set in activate() if polling is configured
+    private volatile @Nullable ScheduledFuture<?> pollJob;
+
+    // Set when the initial scan has been started
+    private final AtomicBoolean scanned = new AtomicBoolean();
+
+    // Orders the processing of each file, held until the initial scan has published its results
+    private final PathSerializer serializer = new PathSerializer(
+        command -> getIngestExecutor().execute(command),
+        this::processChange,
+        true
+    );
+
+    // The state of each file when it was last parsed, also if parsing failed so that it isn't parsed again until it
+    // changes. Sorted, so that the files in a directory can be found
+    private final ConcurrentNavigableMap<Path, FileState> fileStates = new ConcurrentSkipListMap<>();
+
+    // The state of each translation file when it was last loaded, sorted so that the files in a directory can be found
+    private final ConcurrentNavigableMap<Path, FileState> translationStates = new ConcurrentSkipListMap<>();
+    private final AtomicLong skippedReparses = new AtomicLong();
+
+    // Statistics for the files actually parsed, cache hits excluded
+    private final AtomicLong xmlParses = new AtomicLong();
+    private final AtomicLong xmlParseNanos = new AtomicLong();
 
     @Activate
     public FileProcessor(
         @Reference(target = WatchService.CONFIG_WATCHER_FILTER) WatchService watchService,
-        @Reference FileThingTypeProvider fileThingTypeProvider,
-        @Reference FileChannelTypeProvider fileChannelTypeProvider,
-        @Reference FileChannelGroupTypeProvider fileChannelGroupTypeProvider
+        @Reference FileTypeStore store,
+        @Reference FileTypeLocalizer localizer
     ) {
         this.watchService = watchService;
-        this.fileThingTypeProvider = fileThingTypeProvider;
-        this.fileChannelTypeProvider = fileChannelTypeProvider;
-        this.fileChannelGroupTypeProvider = fileChannelGroupTypeProvider;
-        this.thingTypeReader = new ThingDescriptionReader();
+        this.store = store;
+        this.publisher = store.newPublisher();
+        this.localizer = localizer;
     }
 
     @Activate
-    public void activate() {
-      watchService.registerListener(this, Path.of(FOLDER_NAME));
-      new Thread(() -> {
-          Path watchPath;
-          try {
-              watchPath = watchService.getWatchPath().resolve(FOLDER_NAME);
-          } catch (InvalidPathException e) {
-              logger.error("Can't parse thing types - invalid config path '{}' + '{}'", watchService.getWatchPath(), FOLDER_NAME, e);
-              return;
-          }
-          if (Files.isDirectory(watchPath)) {
-              try {
-                  Files.walkFileTree(watchPath, new SimpleFileVisitor<>() {
-
-                      @Override
-                      public FileVisitResult visitFile(@NonNullByDefault({}) Path file,
-                              @NonNullByDefault({}) BasicFileAttributes attrs) throws IOException {
-                          if (attrs.isRegularFile()) {
-                              Path filename = file.getFileName();
-                              String extension;
-                              if (
-                                  filename != null &&
-                                  (extension = ThingTypesUtil.getExtension(filename.toString(), true)) != null &&
-                                  SUPPORTED_EXTENSIONS.contains(extension)
-                              ) {
-                                  add(file);
-                              }
-                          }
-                          return FileVisitResult.CONTINUE;
-                      }
-
-                      @Override
-                      public FileVisitResult visitFileFailed(@NonNullByDefault({}) Path file,
-                              @NonNullByDefault({}) IOException exc) throws IOException {
-                          logger.warn("Failed to process \"{}\": {} - {}", file.toAbsolutePath(), exc.getClass().getSimpleName(), exc.getMessage());
-                          return FileVisitResult.CONTINUE;
-                      }
-                  });
-            } catch (IOException e) {
-                logger.warn("Could not process ThingType files in \"{}\": {}", watchPath.toAbsolutePath(), e.getMessage());
-                logger.trace("", e);
-            }
-          }
-      }, "OH-file-thing-types-initializer").start();
+    public void activate(Map<String, Object> configProperties) {
+        ThingTypesConfiguration config = new Configuration(configProperties).as(ThingTypesConfiguration.class);
+        this.config = config;
+        store.getLimiter().setMaximum(config.maxThingTypes);
+        store.setRehydrator(rehydrator);
+        this.coalescer = new PathEventCoalescer(
+            ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME),
+            config.quietPeriod,
+            this::enqueue
+        );
+        watchService.registerListener(this, Path.of(FOLDER_NAME));
+        if (config.pollInterval > 0) {
+            pollJob = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME).scheduleWithFixedDelay(this::poll,
+                config.pollInterval, config.pollInterval, TimeUnit.SECONDS);
+        }
+        if (hasFiles()) {
+            startScan();
+        } else {
+            // Nothing to do until the first file appears, which is handled by enqueue()
+            logger.debug("No thing type files found, waiting for files to appear");
+            publisher.retainAll(List.of());
+            translationStates.clear();
+            localizer.retainTranslations(List.of());
+        }
     }
 
     @Deactivate
     public void deactivate() {
         this.watchService.unregisterListener(this);
+        PathEventCoalescer coalescer = this.coalescer;
+        if (coalescer != null) {
+            coalescer.cancel();
+        }
+        ScheduledFuture<?> pollJob = this.pollJob;
+        if (pollJob != null) {
+            pollJob.cancel(false);
+        }
+        // Anything still running can no longer publish, even if it ignores the interrupt
+        publisher.close();
+        store.removeRehydrator(rehydrator);
+        ExecutorService executor;
+        synchronized (this) {
+            deactivated = true;
+            executor = this.ingestExecutor;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    logger.warn(
+                        "Thing type file processing didn't stop within {} seconds, leaving it to finish in the background",
+                        SHUTDOWN_TIMEOUT_SECONDS
+                    );
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
     }
 
-    @Override
-    public void processWatchEvent(Kind kind, Path path) {
-        Path filename = path.getFileName();
+    /**
+     * Evaluates if ongoing work should be abandoned, either because this instance has been deactivated or because
+     * the current thread has been interrupted.
+     *
+     * @return {@code true} if the work should stop, {@code false} otherwise.
+     */
+    protected boolean isCancelled() {
+        return Thread.currentThread().isInterrupted() || !publisher.isCurrent();
+    }
+
+    /**
+     * Returns the executor used for parsing, creating it if this is the first use.
+     *
+     * @return The {@link ThreadPoolExecutor}.
+     * @throws RejectedExecutionException If this component has been deactivated.
+     */
+    protected synchronized ThreadPoolExecutor getIngestExecutor() {
+        if (deactivated) {
+            throw new RejectedExecutionException("The thing types file processor has been deactivated");
+        }
+        ThreadPoolExecutor result = ingestExecutor;
+        if (result == null) {
+            // One extra thread for the scan, which waits for the parsing done by the other threads
+            int threads = config.getScanThreads() + 1;
+            result = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("thingtypes-ingest"));
+            result.allowCoreThreadTimeOut(true);
+            ingestExecutor = result;
+        }
+        return result;
+    }
+
+    /**
+     * Submits a file that has changed for processing. Changes are processed in order per file, and not until the
+     * initial scan has published its results, which is started by the first change if it hasn't been already.
+     *
+     * @param path the file that has changed.
+     */
+    protected void enqueue(Path path) {
+        serializer.submit(path);
+        startScan();
+    }
+
+    /**
+     * Checks the configuration folder for changes that the watch service might not have reported, by submitting the
+     * folder for processing. Nothing is done until there are files to process.
+     */
+    protected void poll() {
+        if (!scanned.get() && !hasFiles()) {
+            return;
+        }
+        try {
+            enqueue(watchService.getWatchPath().resolve(FOLDER_NAME));
+        } catch (InvalidPathException e) {
+            logger.error("Can't poll thing types - invalid config path '{}' + '{}'", watchService.getWatchPath(), FOLDER_NAME, e);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Not polling thing type files since the add-on is shutting down");
+        }
+    }
+
+    /**
+     * Starts the initial scan on the ingest executor, unless it has already been started. Changes submitted while
+     * the scan is running are processed after it has finished, so that the scan can't overwrite newer results.
+     */
+    protected void startScan() {
+        if (!scanned.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getIngestExecutor().execute(() -> {
+                try {
+                    scan();
+                } finally {
+                    try {
+                        serializer.release();
+                    } catch (RejectedExecutionException e) {
+                        logger.debug("Not processing changed thing type files since the add-on is shutting down");
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Not scanning thing type files since the add-on is shutting down");
+        }
+    }
+
+    /**
+     * Evaluates if the configuration folder exists and contains anything.
+     *
+     * @return {@code true} if there is something to scan, {@code false} otherwise.
+     */
+    protected boolean hasFiles() {
+        try {
+            Path folder = watchService.getWatchPath().resolve(FOLDER_NAME);
+            if (!Files.isDirectory(folder)) {
+                return false;
+            }
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+                return stream.iterator().hasNext();
+            }
+        } catch (InvalidPathException | IOException e) {
+            // Let the scan report the problem
+            return true;
+        }
+    }
+
+    /**
+     * Parses all supported files in the configuration folder, using as many threads as configured.
+     */
+    protected void scan() {
+        Path watchPath;
+        try {
+            watchPath = watchService.getWatchPath().resolve(FOLDER_NAME);
+        } catch (InvalidPathException e) {
+            logger.error("Can't parse thing types - invalid config path '{}' + '{}'", watchService.getWatchPath(), FOLDER_NAME, e);
+            return;
+        }
+        if (!Files.isDirectory(watchPath)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        DefinitionCache cache = null;
+        if (config.parseCache) {
+            definitionCache = cache = new DefinitionCache(
+                Path.of(OpenHAB.getUserDataFolder(), "cache", CACHE_FOLDER_NAME),
+                getCacheVersion()
+            );
+        }
+        List<Path> translationFiles = findFiles(watchPath, FileProcessor::isTranslation);
+        translationStates.keySet().retainAll(new HashSet<>(translationFiles));
+        localizer.retainTranslations(translationFiles);
+        for (Path file : translationFiles) {
+            if (isCancelled()) {
+                logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+                return;
+            }
+            loadTranslations(file);
+        }
+        List<Path> files = findFiles(watchPath);
+        if (cache != null) {
+            cache.retainAll(files);
+        }
+        // Definitions from files that no longer exist might remain from a previous activation
+        if (!publisher.retainAll(files)) {
+            logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+            return;
+        }
+        int threads = Math.min(config.getScanThreads(), files.size());
+        ExecutorService executor = null;
+        if (threads > 1) {
+            try {
+                executor = getIngestExecutor();
+            } catch (RejectedExecutionException e) {
+                logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+                return;
+            }
+        }
+        Map<Path, FileDefinitions> batch = new HashMap<>();
+        int failed = 0;
+        if (threads <= 1 || executor == null) {
+            for (Path file : files) {
+                if (isCancelled()) {
+                    logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+                    return;
+                }
+                FileDefinitions definitions;
+                try {
+                    definitions = parse(file, readFile(file));
+                } catch (RuntimeException e) {
+                    failed++;
+                    logScanFailure(file, e);
+                    continue;
+                }
+                batch.put(file, definitions == null ? FileDefinitions.EMPTY : definitions);
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    if (!publisher.replaceAll(batch)) {
+                        return;
+                    }
+                    batch.clear();
+                }
+            }
+        } else {
+            List<Future<@Nullable FileDefinitions>> futures = new ArrayList<>(files.size());
+            try {
+                for (Path file : files) {
+                    futures.add(executor.submit(() -> isCancelled() ? null : parse(file, readFile(file))));
+                }
+                for (int i = 0; i < files.size(); i++) {
+                    FileDefinitions definitions;
+                    try {
+                        definitions = futures.get(i).get();
+                    } catch (ExecutionException e) {
+                        // Keep whatever is published for the file, and continue with the others
+                        Throwable cause = e.getCause();
+                        failed++;
+                        logScanFailure(files.get(i), cause == null ? e : cause);
+                        continue;
+                    }
+                    if (isCancelled()) {
+                        logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+                        futures.forEach(future -> future.cancel(true));
+                        return;
+                    }
+                    batch.put(files.get(i), definitions == null ? FileDefinitions.EMPTY : definitions);
+                    if (batch.size() >= SCAN_BATCH_SIZE) {
+                        if (!publisher.replaceAll(batch)) {
+                            futures.forEach(future -> future.cancel(true));
+                            return;
+                        }
+                        batch.clear();
+                    }
+                }
+            } catch (RejectedExecutionException e) {
+                logger.debug("Aborting scan of \"{}\" since the add-on is shutting down", watchPath);
+                return;
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (!publisher.replaceAll(batch)) {
+            logger.debug("Discarding the results of the scan of \"{}\" since the add-on is shutting down", watchPath);
+            return;
+        }
+        if (failed > 0) {
+            logger.warn(
+                "Parsed {} of {} thing type files from \"{}\" in {} ms using {} thread{} ({} from cache), {} failed " +
+                    "and keep their previous definitions",
+                files.size() - failed,
+                files.size(),
+                watchPath.toAbsolutePath(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Math.max(threads, 1),
+                threads > 1 ? "s" : "",
+                cache == null ? 0 : cache.getHits(),
+                failed
+            );
+        } else {
+            logger.info(
+                "Parsed {} thing type file{} from \"{}\" in {} ms using {} thread{} ({} from cache)",
+                files.size(),
+                files.size() == 1 ? "" : "s",
+                watchPath.toAbsolutePath(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                Math.max(threads, 1),
+                threads > 1 ? "s" : "",
+                cache == null ? 0 : cache.getHits()
+            );
+        }
+        long parses = xmlParses.get();
+        if (parses > 0L && logger.isDebugEnabled()) {
+            logger.debug(
+                "Average XML parse time is {} us per file over {} file{} using the {} parser",
+                TimeUnit.NANOSECONDS.toMicros(xmlParseNanos.get() / parses),
+                parses,
+                parses == 1L ? "" : "s",
+                config.parser
+            );
+        }
+        long hits = SharedDescriptions.getHits();
+        long total = hits + SharedDescriptions.getMisses();
+        if (total > 0L && logger.isDebugEnabled()) {
+            logger.debug(
+                "{} of {} state and command descriptions share an existing instance ({}% hit rate)",
+                hits,
+                total,
+                hits * 100L / total
+            );
+        }
+    }
+
+    /**
+     * Logs an unexpected error while parsing a file during the scan.
+     *
+     * @param file the file that failed.
+     * @param e the error.
+     */
+    private void logScanFailure(Path file, Throwable e) {
+        logger.warn("Unexpected error while parsing \"{}\": {}", file.toAbsolutePath(), e.getMessage());
+        logger.debug("", e);
+    }
+
+    /**
+     * Creates a version string that changes whenever openHAB or this add-on is updated, so that cached parsing
+     * results created by other versions aren't used.
+     *
+     * @return The cache version string.
+     */
+    protected String getCacheVersion() {
+        StringBuilder sb = new StringBuilder(OpenHAB.getVersion());
+        Bundle bundle = FrameworkUtil.getBundle(FileProcessor.class);
+        if (bundle != null) {
+            // The modification time changes when a bundle with the same version is reinstalled
+            sb.append('|').append(bundle.getVersion()).append('|').append(bundle.getLastModified());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Finds all files with a supported extension in the specified folder and its subfolders.
+     *
+     * @param folder the folder to search.
+     * @return The {@link List} of files found.
+     */
+    protected List<Path> findFiles(Path folder) {
+        return findFiles(folder, FileProcessor::isSupported);
+    }
+
+    /**
+     * Finds all files accepted by the specified filter in the specified folder and its subfolders.
+     *
+     * @param folder the folder to search.
+     * @param filter the {@link Predicate} that decides which files to include.
+     * @return The {@link List} of files found.
+     */
+    protected List<Path> findFiles(Path folder, Predicate<Path> filter) {
+        return findFiles(folder, (file, attributes) -> filter.test(file));
+    }
+
+    /**
+     * Finds all files accepted by the specified filter in the specified folder and its subfolders. The filter
+     * receives the attributes read while walking the folder, so that they don't have to be read again.
+     *
+     * @param folder the folder to search.
+     * @param filter the {@link BiPredicate} that decides which files to include.
+     * @return The {@link List} of files found.
+     */
+    protected List<Path> findFiles(Path folder, BiPredicate<Path, BasicFileAttributes> filter) {
+        List<Path> result = new ArrayList<>();
+        try {
+            Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+
+                @Override
+                public FileVisitResult visitFile(@NonNullByDefault({}) Path file,
+                        @NonNullByDefault({}) BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile() && filter.test(file, attrs)) {
+                        result.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(@NonNullByDefault({}) Path file,
+                        @NonNullByDefault({}) IOException exc) throws IOException {
+                    logger.warn("Failed to process \"{}\": {} - {}", file.toAbsolutePath(), exc.getClass().getSimpleName(), exc.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Could not process ThingType files in \"{}\": {}", folder.toAbsolutePath(), e.getMessage());
+            logger.trace("", e);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluates if the specified file has a supported extension.
+     *
+     * @param file the file to evaluate.
+     * @return {@code true} if the file should be parsed, {@code false} otherwise.
+     */
+    protected static boolean isSupported(Path file) {
+        Path filename = file.getFileName();
         String extension;
-        if (
-            filename == null ||
-            (extension = ThingTypesUtil.getExtension(filename.toString(), true)) == null ||
-            !SUPPORTED_EXTENSIONS.contains(extension)
-        ) {
+        return
+            filename != null &&
+            (extension = ThingTypesUtil.getExtension(filename.toString(), true)) != null &&
+            SUPPORTED_EXTENSIONS.contains(extension);
+    }
+
+    /**
+     * Evaluates if the specified file is a translation file, named {@code <name>_<language>.properties} or
+     * {@code <name>_<language>_<country>.properties}.
+     *
+     * @param file the file to evaluate.
+     * @return {@code true} if the file is a translation file, {@code false} otherwise.
+     */
+    protected static boolean isTranslation(Path file) {
+        return getTranslationLocale(file) != null;
+    }
+
+    /**
+     * Returns the {@link Locale} of a translation file from its name.
+     *
+     * @param file the translation file.
+     * @return The {@link Locale} or {@code null} if the file isn't a translation file.
+     */
+    protected static @Nullable Locale getTranslationLocale(Path file) {
+        Path filename = file.getFileName();
+        if (filename == null) {
+            return null;
+        }
+        String name = filename.toString();
+        int extensionIndex = ThingTypesUtil.getExtensionIndex(name);
+        if (extensionIndex < 0 || !TRANSLATION_EXTENSION.equalsIgnoreCase(name.substring(extensionIndex + 1))) {
+            return null;
+        }
+        String[] parts = name.substring(0, extensionIndex).split("_");
+        int last = parts.length - 1;
+        if (last >= 2 && LANGUAGE_PATTERN.matcher(parts[last - 1]).matches() &&
+            COUNTRY_PATTERN.matcher(parts[last]).matches()) {
+            return new Locale(parts[last - 1], parts[last]);
+        }
+        if (last >= 1 && LANGUAGE_PATTERN.matcher(parts[last]).matches()) {
+            return new Locale(parts[last]);
+        }
+        return null;
+    }
+
+    /**
+     * Reads a translation file and replaces its previous translations.
+     *
+     * @param file the translation file.
+     */
+    protected void loadTranslations(Path file) {
+        Locale locale = getTranslationLocale(file);
+        if (locale == null) {
             return;
         }
+        FileContent content = readFile(file);
+        if (content == null) {
+            logger.warn("Failed to read translations from \"{}\"", file.toAbsolutePath());
+            translationStates.remove(file);
+            localizer.removeTranslations(file);
+            return;
+        }
+        FileState fileState = content.state();
+        if (isSameContent(fileState, translationStates.get(file))) {
+            translationStates.put(file, fileState);
+            logger.debug("Skipping unchanged translation file \"{}\"", file);
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(content.bytes()), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to read translations from \"{}\": {}", file.toAbsolutePath(), e.getMessage());
+            // Remember the state, so that the file isn't read again until it changes
+            translationStates.put(file, fileState);
+            localizer.removeTranslations(file);
+            return;
+        }
+        Map<String, String> entries = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            entries.put(key, properties.getProperty(key));
+        }
+        translationStates.put(file, fileState);
+        localizer.replaceTranslations(file, locale, entries);
+        logger.debug("Loaded {} translations for \"{}\" from \"{}\"", entries.size(), locale, file);
+    }
 
+    @Override
+    public void processWatchEvent(Kind kind, Path path) {
         Path filePath;
         if (path.isAbsolute()) {
             filePath = path;
@@ -157,72 +724,500 @@ public class FileProcessor implements WatchEventListener {
             }
         }
 
-        switch (kind) {
-            case CREATE:
-                logger.debug("Discovered new file: {}", filePath.toAbsolutePath());
-                add(filePath);
-                break;
-            case DELETE:
-                logger.debug("Discovered deleted file: {}", filePath.toAbsolutePath());
-                remove(filePath);
-                break;
-            case MODIFY:
-                logger.debug("Discovered modified file: {}", filePath.toAbsolutePath());
-                remove(filePath);
-                add(filePath);
-                break;
-            case OVERFLOW:
-                logger.warn("An overflow occurred, some changes might have been missed: {}", filePath.toAbsolutePath());
-                remove(filePath);
-                add(filePath);
-                break;
-            default:
-                break;
+        // Directories are processed too, and a deleted directory can't be told apart from a deleted file
+        if (!isSupported(filePath) && !isTranslation(filePath) && kind != Kind.DELETE && !Files.isDirectory(filePath)) {
+            return;
+        }
+
+        PathEventCoalescer coalescer = this.coalescer;
+        if (kind == Kind.OVERFLOW) {
+            logger.warn("An overflow occurred, resynchronizing all thing type files: {}", filePath.toAbsolutePath());
+            if (coalescer != null) {
+                // Processing the whole folder compares every file with its state when last parsed
+                try {
+                    coalescer.add(watchService.getWatchPath().resolve(FOLDER_NAME));
+                } catch (InvalidPathException e) {
+                    logger.error("Can't parse thing types - invalid config path", e);
+                }
+            }
+        } else {
+            logger.trace("Received {} event for \"{}\"", kind, filePath.toAbsolutePath());
+        }
+        if (coalescer != null) {
+            coalescer.add(filePath);
+        }
+    }
+
+    /**
+     * Brings the parsed results from the specified file in line with the current state of the file, after the
+     * quiet period for file events has expired. Only the final state matters, so any number of events for the same
+     * file results in at most one parse. This is never called concurrently for the same file.
+     *
+     * @param path the file that has changed.
+     */
+    protected void processChange(Path path) {
+        if (isCancelled()) {
+            return;
+        }
+        if (Files.isDirectory(path)) {
+            logger.debug("Processing new, moved or resynchronized directory: {}", path.toAbsolutePath());
+            updateDirectory(path);
+        } else if (!Files.exists(path) && !isSupported(path) && !isTranslation(path)) {
+            if (isKnownDirectory(path)) {
+                logger.debug("Processing deleted directory: {}", path.toAbsolutePath());
+                removeDirectory(path);
+            } else {
+                logger.trace("Ignoring deleted path that isn't a known directory: {}", path.toAbsolutePath());
+            }
+        } else if (isTranslation(path)) {
+            if (Files.isRegularFile(path)) {
+                loadTranslations(path);
+            } else {
+                translationStates.remove(path);
+                localizer.removeTranslations(path);
+            }
+        } else if (Files.isRegularFile(path)) {
+            logger.debug("Processing new or modified file: {}", path.toAbsolutePath());
+            update(path);
+        } else {
+            logger.debug("Processing deleted file: {}", path.toAbsolutePath());
+            remove(path);
         }
     }
 
     /**
-     * Parse a file and add the results to accompanying providers.
+     * Evaluates if the specified path is a directory containing files that have been processed, which is the only way
+     * to tell that a deleted path was a directory.
+     *
+     * @param path the path to check.
+     * @return {@code true} if files in {@code path} have been processed, {@code false} otherwise.
+     */
+    protected boolean isKnownDirectory(Path path) {
+        return !ThingTypesUtil.getPathsIn(fileStates, path).isEmpty() ||
+            !ThingTypesUtil.getPathsIn(translationStates, path).isEmpty() ||
+            !localizer.getTranslationFiles(path).isEmpty();
+    }
+
+    /**
+     * Replace the previously parsed results from the specified file with new results, unless the content of the
+     * file is unchanged since it was last parsed.
+     *
+     * @param path the file to parse.
+     */
+    protected void update(Path path) {
+        FileContent content = readFile(path);
+        if (content != null && isSameContent(content.state(), fileStates.get(path))) {
+            fileStates.put(path, content.state());
+            long skipped = skippedReparses.incrementAndGet();
+            logger.debug("Skipping unchanged file \"{}\" ({} reparses avoided)", path, skipped);
+            return;
+        }
+        add(path, content);
+    }
+
+    /**
+     * @return The number of times parsing has been skipped because a modified file's content was unchanged.
+     */
+    public long getSkippedReparses() {
+        return skippedReparses.get();
+    }
+
+    /**
+     * @return The number of files that have been parsed from XML, cache hits excluded.
+     */
+    public long getXmlParses() {
+        return xmlParses.get();
+    }
+
+    /**
+     * @return The total time in nanoseconds spent parsing files from XML, cache hits excluded.
+     */
+    public long getXmlParseNanos() {
+        return xmlParseNanos.get();
+    }
+
+    /**
+     * Parse a file and replace any previous results from the same file in the store.
      *
      * @param path the file to parse.
      */
     protected void add(Path path) {
+        add(path, readFile(path));
+    }
+
+    /**
+     * Parse a file and replace any previous results from the same file in the store. The file is parsed completely
+     * before anything is published, and the new definitions replace the old in one step.
+     *
+     * @param path the file to parse.
+     * @param content the current content of the file or {@code null} if it couldn't be read.
+     */
+    protected void add(Path path, @Nullable FileContent content) {
+        FileDefinitions definitions = parse(path, content);
+        if (!publisher.replace(path, definitions == null ? FileDefinitions.EMPTY : definitions)) {
+            logger.debug("Discarding the results of parsing \"{}\" since the add-on is shutting down", path);
+        }
+    }
+
+    /**
+     * Parse a file into {@link FileDefinitions} without publishing them. Types whose content is unchanged compared
+     * to what is currently registered for the file are reused instead of being recreated.
+     *
+     * @param path the file to parse.
+     * @param content the current content of the file or {@code null} if it couldn't be read.
+     * @return The resulting {@link FileDefinitions} or {@code null} if parsing failed.
+     */
+    protected @Nullable FileDefinitions parse(Path path, @Nullable FileContent content) {
+        if (content == null) {
+            fileStates.remove(path);
+            return null;
+        }
+        FileState fileState = content.state();
         try {
-            List<?> results = thingTypeReader.readFromXML(path.toUri().toURL());
-            if (results != null) {
-                for (Object result : results) {
-                    if (result instanceof ThingTypeXmlResult xmlResult) {
-                        fileThingTypeProvider.add(path, xmlResult);
-                    } else if (result instanceof ChannelTypeXmlResult xmlResult) {
-                        fileChannelTypeProvider.add(path, xmlResult);
-                    } else if (result instanceof ChannelGroupTypeXmlResult xmlResult) {
-                        fileChannelGroupTypeProvider.add(path, xmlResult);
-                    } else {
-                        logger.warn("Ignoring unexpected result type {}: {}", result.getClass().getSimpleName(), result);
-                    }
+            DefinitionCache cache = definitionCache;
+            List<?> results = null;
+            if (cache != null) {
+                results = cache.get(path, fileState);
+            }
+            long parseNanos = -1L;
+            if (results == null) {
+                long start = System.nanoTime();
+                results = readFromXML(content.bytes(), path);
+                parseNanos = System.nanoTime() - start;
+                xmlParses.incrementAndGet();
+                xmlParseNanos.addAndGet(parseNanos);
+                if (cache != null && results != null) {
+                    cache.put(path, fileState, results);
                 }
             }
+            FileDefinitions definitions = results == null ? FileDefinitions.EMPTY :
+                toDefinitions(path, results, store.get(path));
+            fileStates.put(path, fileState);
             if (logger.isTraceEnabled()) {
                 logger.trace("Parsed \"{}\": {}", path, results);
+            } else if (parseNanos < 0L) {
+                logger.debug("Parsed \"{}\" from cache", path);
             } else {
-                logger.debug("Parsed \"{}\"", path);
+                logger.debug("Parsed \"{}\" in {} us", path, TimeUnit.NANOSECONDS.toMicros(parseNanos));
             }
-        } catch (MalformedURLException e) {
-            logger.warn("Malformed path URL: {}", path, e);
+            return definitions;
         } catch (RuntimeException e) {
             logger.warn("Failed to parse \"{}\": {}", path, e.getMessage());
             logger.debug("", e);
         }
+        // Remember the state, so that the file isn't parsed again until it changes
+        fileStates.put(path, fileState);
+        return null;
+    }
+
+    /**
+     * Parses the specified document using the configured parser, reusing an idle reader if there is one. Can be
+     * called on any thread.
+     *
+     * @param content the document to parse.
+     * @param path the file the document was read from.
+     * @return The parsing results or {@code null}.
+     */
+    protected @Nullable List<?> readFromXML(byte[] content, Path path) {
+        if (ThingTypesConfiguration.PARSER_STAX.equals(config.parser)) {
+            StaxThingDescriptionReader reader = staxReaders.poll();
+            if (reader == null) {
+                reader = new StaxThingDescriptionReader();
+            }
+            try {
+                return reader.readFromXML(content, path.toString());
+            } finally {
+                staxReaders.offer(reader);
+            }
+        }
+        ThingDescriptionReader reader = thingTypeReaders.poll();
+        if (reader == null) {
+            reader = new ThingDescriptionReader();
+        }
+        try {
+            return reader.readFromXML(content);
+        } finally {
+            thingTypeReaders.offer(reader);
+        }
+    }
+
+    /**
+     * Converts parsing results into {@link FileDefinitions}, reusing the types from {@code previous} whose content
+     * fingerprint is unchanged. Fingerprints are only computed for types that {@code previous} also defines, since
+     * there is nothing to compare with otherwise, so a new type is recreated the first time its file changes.
+     *
+     * @param path the file from which the parsing results originate.
+     * @param results the parsing results.
+     * @param previous the definitions currently registered for the file, if any.
+     * @return The resulting {@link FileDefinitions}.
+     */
+    protected FileDefinitions toDefinitions(Path path, List<?> results, @Nullable FileDefinitions previous) {
+        Map<ThingTypeUID, Definition<LazyThingType>> thingTypes = new HashMap<>();
+        Map<ChannelTypeUID, Definition<ChannelType>> channelTypes = new HashMap<>();
+        Map<ChannelGroupTypeUID, Definition<ChannelGroupType>> channelGroupTypes = new HashMap<>();
+        Map<URI, Definition<ConfigDescription>> configDescriptions = new HashMap<>();
+        for (Object result : results) {
+            try {
+                if (result instanceof ThingTypeXmlResult xmlResult) {
+                    ThingTypeUID uid = xmlResult.getUID();
+                    Definition<LazyThingType> definition = previous == null ? null : previous.thingTypes().get(uid);
+                    String fingerprint = definition == null ? null : CachedResultMapper.fingerprint(result);
+                    if (definition == null || !isUnchanged(definition, fingerprint) ||
+                        definition.type().isLazy() != config.isLazyThingTypes() ||
+                        definition.type().isLimited() != config.maxThingTypes > 0) {
+                        definition = new Definition<>(toLazyThingType(path, xmlResult), fingerprint);
+                    }
+                    thingTypes.put(uid, definition);
+                    addConfigDescription(configDescriptions, xmlResult.getConfigDescription(), fingerprint, previous);
+                } else if (result instanceof ChannelTypeXmlResult xmlResult) {
+                    ChannelType channelType = xmlResult.toChannelType();
+                    ChannelTypeUID uid = channelType.getUID();
+                    Definition<ChannelType> definition = previous == null ? null : previous.channelTypes().get(uid);
+                    String fingerprint = definition == null ? null : CachedResultMapper.fingerprint(result);
+                    if (definition == null || !isUnchanged(definition, fingerprint)) {
+                        definition = new Definition<>(channelType, fingerprint);
+                    }
+                    channelTypes.put(uid, definition);
+                    addConfigDescription(configDescriptions, xmlResult.getConfigDescription(), fingerprint, previous);
+                } else if (result instanceof ChannelGroupTypeXmlResult xmlResult) {
+                    ChannelGroupTypeUID uid = xmlResult.getUID();
+                    Definition<ChannelGroupType> definition = previous == null ? null :
+                        previous.channelGroupTypes().get(uid);
+                    String fingerprint = definition == null ? null : CachedResultMapper.fingerprint(result);
+                    if (definition == null || !isUnchanged(definition, fingerprint)) {
+                        definition = new Definition<>(xmlResult.toChannelGroupType(), fingerprint);
+                    }
+                    channelGroupTypes.put(uid, definition);
+                } else {
+                    logger.warn("Ignoring unexpected result type {}: {}", result.getClass().getSimpleName(), result);
+                }
+            } catch (ConversionException e) {
+                logger.warn("Failed to create type from \"{}\": {}", path.toAbsolutePath(), e.getMessage());
+                logger.trace("", e);
+            }
+        }
+        return new FileDefinitions(Map.copyOf(thingTypes), Map.copyOf(channelTypes), Map.copyOf(channelGroupTypes),
+            Map.copyOf(configDescriptions));
+    }
+
+    /**
+     * Evaluates if a previous definition was created from the same content.
+     *
+     * @param definition the previous {@link Definition}.
+     * @param fingerprint the fingerprint of the new content or {@code null} if it hasn't been computed.
+     * @return {@code true} if both fingerprints are known and equal, {@code false} otherwise.
+     */
+    private static boolean isUnchanged(Definition<?> definition, @Nullable String fingerprint) {
+        return fingerprint != null && fingerprint.equals(definition.fingerprint());
+    }
+
+    /**
+     * Creates a {@link LazyThingType} from a parsing result. If {@link ThingTypesConfiguration#lazyThingTypes} is
+     * set, only the UID and properties are extracted, and the {@link ThingType} is created when it is first requested.
+     * If {@link ThingTypesConfiguration#maxThingTypes} is set, the parsing result isn't kept, and the
+     * {@link ThingType} is created from the parse cache or the source file when requested.
+     *
+     * @param path the file from which the parsing result originates.
+     * @param xmlResult the parsing result.
+     * @return The new {@link LazyThingType}.
+     * @throws ConversionException If the {@link ThingType} is created immediately and creation fails.
+     */
+    protected LazyThingType toLazyThingType(Path path, ThingTypeXmlResult xmlResult) throws ConversionException {
+        if (!config.isLazyThingTypes()) {
+            return LazyThingType.of(xmlResult.toThingType());
+        }
+        ThingTypeUID uid = xmlResult.getUID();
+        Map<String, String> properties = xmlResult.toPropertiesMap();
+        if (properties == null) {
+            properties = Map.of();
+        }
+        if (config.maxThingTypes > 0) {
+            return LazyThingType.limited(uid, properties, store.newSource(path), store.getLimiter());
+        }
+        return LazyThingType.lazy(uid, properties, xmlResult::toThingType);
+    }
+
+    /**
+     * Reads a file again after thing types it defines have been evicted from memory, from the parse cache if the
+     * file is unchanged, or by parsing the file. Called on the thread requesting the thing types.
+     *
+     * @param path the file that defines the {@link ThingType}s.
+     * @return The factories that create the {@link ThingType}s the file defines, by UID.
+     * @throws IOException If the file can't be read.
+     */
+    protected Map<ThingTypeUID, Callable<ThingType>> rehydrate(Path path) throws IOException {
+        List<?> results = null;
+        DefinitionCache cache = definitionCache;
+        FileState fileState = fileStates.get(path);
+        if (cache != null && fileState != null) {
+            results = cache.get(path, fileState);
+        }
+        if (results == null) {
+            results = readFromXML(FileContent.read(path).bytes(), path);
+        }
+        Map<ThingTypeUID, Callable<ThingType>> factories = new HashMap<>();
+        if (results != null) {
+            for (Object result : results) {
+                if (result instanceof ThingTypeXmlResult xmlResult) {
+                    factories.put(xmlResult.getUID(), xmlResult::toThingType);
+                }
+            }
+        }
+        return factories;
     }
 
     /**
-     * Remove all previously parsed results from the specified file from the accompanying providers.
+     * Adds an inline {@link ConfigDescription} to {@code target}, reusing the instance from {@code previous} if the
+     * owning type is unchanged. Nothing is added unless {@link ThingTypesConfiguration#configDescriptions} is set.
+     *
+     * @param target the {@link Map} to add to.
+     * @param configDescription the {@link ConfigDescription} or {@code null} if the type has none.
+     * @param fingerprint the content fingerprint of the owning type or {@code null} if it hasn't been computed.
+     * @param previous the definitions currently registered for the file, if any.
+     */
+    protected void addConfigDescription(Map<URI, Definition<ConfigDescription>> target,
+            @Nullable ConfigDescription configDescription, @Nullable String fingerprint,
+            @Nullable FileDefinitions previous) {
+        if (configDescription == null || !config.configDescriptions) {
+            return;
+        }
+        URI uri = configDescription.getUID();
+        Definition<ConfigDescription> definition = previous == null ? null : previous.configDescriptions().get(uri);
+        if (definition == null || !isUnchanged(definition, fingerprint)) {
+            definition = new Definition<>(configDescription, fingerprint);
+        }
+        target.put(uri, definition);
+    }
+
+    /**
+     * Remove all previously parsed results from the specified file from the store.
      *
      * @param path the file whose previous parsing results to remove.
      */
     protected void remove(Path path) {
-        fileChannelTypeProvider.remove(path);
-        fileChannelGroupTypeProvider.remove(path);
-        fileThingTypeProvider.remove(path);
+        fileStates.remove(path);
+        DefinitionCache cache = definitionCache;
+        if (cache != null) {
+            cache.remove(path);
+        }
+        publisher.remove(path);
+    }
+
+    /**
+     * Brings the parsed results from the specified directory and its subdirectories in line with the files on disk.
+     * Files whose size and modification time are unchanged since they were last parsed are skipped without being
+     * read, while new, modified and deleted files are submitted for processing, which parses them in parallel.
+     * Modified files are only parsed if their digest has changed. Translation files are always submitted, since
+     * there are few of them.
+     * <p>
+     * This is used for new and moved directories, and to resynchronize the whole folder after a watch service
+     * overflow or when polling, so each file is only examined once, using the attributes read by the walk.
+     *
+     * @param directory the directory to process.
+     */
+    protected void updateDirectory(Path directory) {
+        Set<Path> found = new HashSet<>();
+        List<Path> changed = findFiles(directory, (path, attributes) -> {
+            if (isTranslation(path)) {
+                found.add(path);
+                return !isUnchanged(translationStates, path, attributes);
+            }
+            if (!isSupported(path)) {
+                return false;
+            }
+            found.add(path);
+            return !isUnchanged(path, attributes);
+        });
+        int files = found.size();
+        for (Path file : ThingTypesUtil.getPathsIn(fileStates, directory)) {
+            if (!found.contains(file)) {
+                changed.add(file);
+            }
+        }
+        for (Path file : localizer.getTranslationFiles(directory)) {
+            if (!found.contains(file)) {
+                changed.add(file);
+            }
+        }
+        if (changed.isEmpty()) {
+            logger.trace("Found no changes among {} file{} in \"{}\"", files, files == 1 ? "" : "s",
+                directory.toAbsolutePath());
+        } else {
+            logger.debug("Found {} new, modified or deleted file{} of {} in \"{}\"", changed.size(),
+                changed.size() == 1 ? "" : "s", files, directory.toAbsolutePath());
+        }
+        for (Path file : changed) {
+            if (isCancelled()) {
+                return;
+            }
+            serializer.submit(file);
+        }
+    }
+
+    /**
+     * Evaluates if the size and modification time of the specified file are the same as when it was last parsed.
+     *
+     * @param path the file to check.
+     * @param attributes the current attributes of the file.
+     * @return {@code true} if the file is unchanged, {@code false} if it's changed or new.
+     */
+    protected boolean isUnchanged(Path path, BasicFileAttributes attributes) {
+        return isUnchanged(fileStates, path, attributes);
+    }
+
+    private static boolean isUnchanged(Map<Path, FileState> states, Path path, BasicFileAttributes attributes) {
+        FileState fileState = states.get(path);
+        return fileState != null && attributes.size() == fileState.size()
+            && attributes.lastModifiedTime().toMillis() == fileState.lastModified();
+    }
+
+    private static boolean isSameContent(FileState fileState, @Nullable FileState previousState) {
+        return previousState != null && fileState.size() == previousState.size()
+            && fileState.digest().equals(previousState.digest());
+    }
+
+    /**
+     * Removes all previously parsed results from the files in the specified directory and its subdirectories from
+     * the store in one operation.
+     *
+     * @param directory the directory whose previous parsing results to remove.
+     */
+    protected void removeDirectory(Path directory) {
+        List<Path> removed = publisher.removeDirectory(directory);
+        if (removed == null) {
+            return;
+        }
+        Set<Path> paths = new HashSet<>(removed);
+        paths.addAll(ThingTypesUtil.getPathsIn(fileStates, directory));
+        DefinitionCache cache = definitionCache;
+        for (Path path : paths) {
+            fileStates.remove(path);
+            if (cache != null) {
+                cache.remove(path);
+            }
+        }
+        for (Path path : ThingTypesUtil.getPathsIn(translationStates, directory)) {
+            translationStates.remove(path);
+        }
+        localizer.removeTranslationDirectory(directory);
+        if (!paths.isEmpty()) {
+            logger.debug("Removed the results from {} file{} in \"{}\"", paths.size(), paths.size() == 1 ? "" : "s",
+                directory.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Reads the current content and state of the specified file.
+     *
+     * @param path the file to read.
+     * @return The {@link FileContent} or {@code null} if it couldn't be read.
+     */
+    protected @Nullable FileContent readFile(Path path) {
+        try {
+            return FileContent.read(path);
+        } catch (IOException e) {
+            logger.debug("Failed to read \"{}\": {}", path, e.getMessage());
+            return null;
+        }
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The add-on configuration.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class ThingTypesConfiguration {
+
+    /** The configuration PID */
+    public static final String CONFIGURATION_PID = "org.openhab.thingtypes";
+
+    /** The {@link #parser} value for the XStream based parser */
+    public static final String PARSER_XSTREAM = "xstream";
+
+    /** The {@link #parser} value for the streaming StAX parser */
+    public static final String PARSER_STAX = "stax";
+
+    /** The maximum number of threads to use for parsing, {@code 0} means one per available processor */
+    public int scanThreads;
+
+    /** The time in milliseconds a file must be left alone after a change before it is parsed */
+    public long quietPeriod = 500L;
+
+    /** Whether parsing results should be cached on disk, so that unchanged files don't have to be parsed again */
+    public boolean parseCache = true;
+
+    /** The parser to use, {@value #PARSER_XSTREAM} or {@value #PARSER_STAX} */
+    public String parser = PARSER_XSTREAM;
+
+    /** Whether thing types should only be created when they are first requested */
+    public boolean lazyThingTypes;
+
+    /**
+     * The maximum number of thing types to hold in memory, {@code 0} means no limit. Any other value implies
+     * {@link #lazyThingTypes}
+     */
+    public int maxThingTypes;
+
+    /**
+     * The interval in seconds between checking the files for changes, for file systems where the watch service
+     * doesn't work. {@code 0} means no polling.
+     */
+    public int pollInterval;
+
+    /**
+     * Whether the configuration descriptions defined inline in thing types and channel types should be provided.
+     * openHAB merges the parameters of all providers that provide the same URI, so this is only safe when no other
+     * provider, like the binding itself, provides them.
+     */
+    public boolean configDescriptions;
+
+    /**
+     * @return {@code true} if thing types should only be created when they are requested, {@code false} otherwise.
+     */
+    public boolean isLazyThingTypes() {
+        return lazyThingTypes || maxThingTypes > 0;
+    }
+
+    /**
+     * @return The maximum number of threads to use for parsing, always {@code 1} or higher.
+     */
+    public int getScanThreads() {
+        return scanThreads > 0 ? scanThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
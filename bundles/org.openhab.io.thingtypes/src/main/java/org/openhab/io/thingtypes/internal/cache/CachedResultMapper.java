@@ -0,0 +1,487 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.ConfigDescriptionBuilder;
+import org.openhab.core.config.core.ConfigDescriptionParameter;
+import org.openhab.core.config.core.ConfigDescriptionParameterBuilder;
+import org.openhab.core.config.core.ConfigDescriptionParameterGroup;
+import org.openhab.core.config.core.ConfigDescriptionParameterGroupBuilder;
+import org.openhab.core.config.core.FilterCriteria;
+import org.openhab.core.config.core.ParameterOption;
+import org.openhab.core.config.core.xml.util.NodeValue;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.AutoUpdatePolicy;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ChannelKind;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeBuilder;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.thing.type.StateChannelTypeBuilder;
+import org.openhab.core.thing.type.TriggerChannelTypeBuilder;
+import org.openhab.core.types.CommandDescription;
+import org.openhab.core.types.CommandDescriptionBuilder;
+import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.EventDescription;
+import org.openhab.core.types.EventOption;
+import org.openhab.core.types.StateDescription;
+import org.openhab.core.types.StateDescriptionFragment;
+import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.StateOption;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedChannelDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedChannelGroupTypeDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedChannelTypeDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedConfigDescriptionDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedConfigParameterDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedConfigParameterGroupDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedFileDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedFilterCriteriaDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedOptionDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedStateDescriptionDTO;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedThingTypeDTO;
+import org.openhab.io.thingtypes.internal.copied.BridgeTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelGroupTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ThingTypeXmlResult;
+import org.openhab.io.thingtypes.internal.util.FileState;
+import org.openhab.io.thingtypes.internal.util.SharedDescriptions;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Converts parsing results to and from their cached representation.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class CachedResultMapper {
+
+    private static final String PROPERTY_NODE_NAME = "property";
+    private static final String PROPERTY_NAME_ATTRIBUTE = "name";
+    private static final Gson GSON = new GsonBuilder().create();
+
+    /**
+     * Not to be instantiated.
+     */
+    private CachedResultMapper() {
+    }
+
+    /**
+     * Converts the parsing results of a file to their cached representation.
+     *
+     * @param results the parsing results as returned by the reader.
+     * @return The resulting {@link CachedFileDTO} or {@code null} if {@code results} contains an unsupported type.
+     */
+    public static @Nullable CachedFileDTO map(List<?> results) {
+        CachedFileDTO dto = new CachedFileDTO();
+        dto.thingTypes = new ArrayList<>();
+        dto.channelTypes = new ArrayList<>();
+        dto.channelGroupTypes = new ArrayList<>();
+        for (Object result : results) {
+            if (result instanceof ThingTypeXmlResult xmlResult) {
+                dto.thingTypes.add(map(xmlResult));
+            } else if (result instanceof ChannelTypeXmlResult xmlResult) {
+                dto.channelTypes.add(map(xmlResult));
+            } else if (result instanceof ChannelGroupTypeXmlResult xmlResult) {
+                dto.channelGroupTypes.add(map(xmlResult));
+            } else {
+                return null;
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Creates a fingerprint of the content of a single parsing result. Two results with the same content have the
+     * same fingerprint, which makes it possible to tell if a type must be recreated after its file has changed.
+     *
+     * @param result the parsing result.
+     * @return The hexadecimal fingerprint or {@code null} if {@code result} is of an unsupported type.
+     */
+    public static @Nullable String fingerprint(Object result) {
+        Object dto;
+        if (result instanceof ThingTypeXmlResult xmlResult) {
+            dto = map(xmlResult);
+        } else if (result instanceof ChannelTypeXmlResult xmlResult) {
+            dto = map(xmlResult);
+        } else if (result instanceof ChannelGroupTypeXmlResult xmlResult) {
+            dto = map(xmlResult);
+        } else {
+            return null;
+        }
+        return FileState.digest(GSON.toJson(dto).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recreates the parsing results from their cached representation.
+     *
+     * @param dto the {@link CachedFileDTO} to convert.
+     * @return The parsing results, equivalent to those originally returned by the reader.
+     */
+    public static List<Object> unmap(CachedFileDTO dto) {
+        List<Object> result = new ArrayList<>();
+        if (dto.thingTypes != null) {
+            for (CachedThingTypeDTO thingType : dto.thingTypes) {
+                result.add(unmap(thingType));
+            }
+        }
+        if (dto.channelTypes != null) {
+            for (CachedChannelTypeDTO channelType : dto.channelTypes) {
+                result.add(unmap(channelType));
+            }
+        }
+        if (dto.channelGroupTypes != null) {
+            for (CachedChannelGroupTypeDTO channelGroupType : dto.channelGroupTypes) {
+                result.add(unmap(channelGroupType));
+            }
+        }
+        return result;
+    }
+
+    private static CachedThingTypeDTO map(ThingTypeXmlResult xmlResult) {
+        CachedThingTypeDTO dto = new CachedThingTypeDTO();
+        dto.uid = xmlResult.getUID().getAsString();
+        dto.bridge = xmlResult instanceof BridgeTypeXmlResult;
+        dto.supportedBridgeTypeUIDs = xmlResult.getSupportedBridgeTypeUIDs();
+        dto.label = xmlResult.getLabel();
+        dto.description = xmlResult.getDescription();
+        dto.category = xmlResult.getCategory();
+        dto.listed = xmlResult.isListed();
+        dto.extensibleChannelTypeIds = xmlResult.getExtensibleChannelTypeIds();
+        dto.channels = mapChannels(xmlResult.getChannelTypeReferences());
+        dto.channelGroups = mapChannels(xmlResult.getChannelGroupTypeReferences());
+        List<NodeValue> properties = xmlResult.getProperties();
+        dto.properties = properties == null ? null : toPropertiesMap(properties);
+        dto.representationProperty = xmlResult.getRepresentationProperty();
+        URI configDescriptionURI = xmlResult.getConfigDescriptionURI();
+        dto.configDescriptionURI = configDescriptionURI == null ? null : configDescriptionURI.toString();
+        dto.configDescription = map(xmlResult.getConfigDescription());
+        return dto;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ThingTypeXmlResult unmap(CachedThingTypeDTO dto) {
+        ThingTypeUID uid = new ThingTypeUID(dto.uid);
+        List<ChannelXmlResult>[] channelTypeReferenceObjects = new List[] { unmapChannels(dto.channels),
+            unmapChannels(dto.channelGroups) };
+        Object[] configDescriptionObjects = new Object[] {
+            dto.configDescriptionURI == null ? null : URI.create(dto.configDescriptionURI),
+            unmap(dto.configDescription) };
+        Map<String, String> properties = dto.properties;
+        List<NodeValue> propertyNodes = properties == null ? null : toNodeValues(properties);
+        if (dto.bridge) {
+            return new BridgeTypeXmlResult(uid, dto.supportedBridgeTypeUIDs, dto.label, dto.description,
+                dto.category, dto.listed, dto.extensibleChannelTypeIds, channelTypeReferenceObjects, propertyNodes,
+                dto.representationProperty, configDescriptionObjects);
+        }
+        return new ThingTypeXmlResult(uid, dto.supportedBridgeTypeUIDs, dto.label, dto.description, dto.category,
+            dto.listed, dto.extensibleChannelTypeIds, channelTypeReferenceObjects, propertyNodes,
+            dto.representationProperty, configDescriptionObjects);
+    }
+
+    private static CachedChannelTypeDTO map(ChannelTypeXmlResult xmlResult) {
+        ChannelType channelType = xmlResult.toChannelType();
+        CachedChannelTypeDTO dto = new CachedChannelTypeDTO();
+        dto.uid = channelType.getUID().getAsString();
+        dto.system = xmlResult.isSystem();
+        dto.kind = channelType.getKind().name();
+        dto.itemType = channelType.getItemType();
+        dto.unitHint = channelType.getUnitHint();
+        dto.label = channelType.getLabel();
+        dto.description = channelType.getDescription();
+        dto.category = channelType.getCategory();
+        dto.tags = channelType.getTags();
+        dto.advanced = channelType.isAdvanced();
+        dto.state = map(channelType.getState());
+        CommandDescription commandDescription = channelType.getCommandDescription();
+        if (commandDescription != null) {
+            dto.commandOptions = commandDescription.getCommandOptions().stream()
+                .map(option -> new CachedOptionDTO(option.getCommand(), option.getLabel())).toList();
+        }
+        EventDescription eventDescription = channelType.getEvent();
+        if (eventDescription != null) {
+            dto.eventOptions = eventDescription.getOptions().stream()
+                .map(option -> new CachedOptionDTO(option.getValue(), option.getLabel())).toList();
+        }
+        AutoUpdatePolicy autoUpdatePolicy = channelType.getAutoUpdatePolicy();
+        dto.autoUpdatePolicy = autoUpdatePolicy == null ? null : autoUpdatePolicy.name();
+        URI configDescriptionURI = channelType.getConfigDescriptionURI();
+        dto.configDescriptionURI = configDescriptionURI == null ? null : configDescriptionURI.toString();
+        dto.configDescription = map(xmlResult.getConfigDescription());
+        return dto;
+    }
+
+    private static ChannelTypeXmlResult unmap(CachedChannelTypeDTO dto) {
+        ChannelTypeUID uid = new ChannelTypeUID(dto.uid);
+        ChannelTypeBuilder<?> builder;
+        if (ChannelKind.parse(dto.kind) == ChannelKind.TRIGGER) {
+            TriggerChannelTypeBuilder triggerBuilder = ChannelTypeBuilder.trigger(uid, dto.label);
+            List<CachedOptionDTO> eventOptions = dto.eventOptions;
+            if (eventOptions != null) {
+                triggerBuilder.withEventDescription(new EventDescription(
+                    eventOptions.stream().map(option -> new EventOption(option.value, option.label)).toList()));
+            }
+            builder = triggerBuilder;
+        } else {
+            StateChannelTypeBuilder stateBuilder = ChannelTypeBuilder.state(uid, dto.label, dto.itemType)
+                .withStateDescriptionFragment(SharedDescriptions.share(unmap(dto.state))).withAutoUpdatePolicy(
+                    dto.autoUpdatePolicy == null ? null : AutoUpdatePolicy.valueOf(dto.autoUpdatePolicy))
+                .withUnitHint(dto.unitHint);
+            List<CachedOptionDTO> commandOptions = dto.commandOptions;
+            if (commandOptions != null) {
+                stateBuilder.withCommandDescription(SharedDescriptions.share(CommandDescriptionBuilder.create()
+                    .withCommandOptions(commandOptions.stream()
+                        .map(option -> new CommandOption(option.value, option.label)).toList())
+                    .build()));
+            }
+            builder = stateBuilder;
+        }
+        builder.isAdvanced(dto.advanced);
+        if (dto.configDescriptionURI != null) {
+            builder.withConfigDescriptionURI(URI.create(dto.configDescriptionURI));
+        }
+        if (dto.category != null) {
+            builder.withCategory(dto.category);
+        }
+        if (dto.description != null) {
+            builder.withDescription(dto.description);
+        }
+        if (dto.tags != null) {
+            builder.withTags(dto.tags);
+        }
+        return new ChannelTypeXmlResult(builder.build(), unmap(dto.configDescription), dto.system);
+    }
+
+    private static @Nullable CachedStateDescriptionDTO map(@Nullable StateDescription stateDescription) {
+        if (stateDescription == null) {
+            return null;
+        }
+        CachedStateDescriptionDTO dto = new CachedStateDescriptionDTO();
+        dto.minimum = stateDescription.getMinimum();
+        dto.maximum = stateDescription.getMaximum();
+        dto.step = stateDescription.getStep();
+        dto.pattern = stateDescription.getPattern();
+        dto.readOnly = stateDescription.isReadOnly();
+        List<StateOption> options = stateDescription.getOptions();
+        if (!options.isEmpty()) {
+            dto.options = options.stream().map(option -> new CachedOptionDTO(option.getValue(), option.getLabel()))
+                .toList();
+        }
+        return dto;
+    }
+
+    private static @Nullable StateDescriptionFragment unmap(@Nullable CachedStateDescriptionDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        StateDescriptionFragmentBuilder builder = StateDescriptionFragmentBuilder.create().withReadOnly(dto.readOnly);
+        if (dto.minimum != null) {
+            builder.withMinimum(dto.minimum);
+        }
+        if (dto.maximum != null) {
+            builder.withMaximum(dto.maximum);
+        }
+        if (dto.step != null) {
+            builder.withStep(dto.step);
+        }
+        if (dto.pattern != null) {
+            builder.withPattern(dto.pattern);
+        }
+        List<CachedOptionDTO> options = dto.options;
+        if (options != null) {
+            builder.withOptions(options.stream().map(option -> new StateOption(option.value, option.label)).toList());
+        }
+        return builder.build();
+    }
+
+    private static @Nullable CachedConfigDescriptionDTO map(@Nullable ConfigDescription configDescription) {
+        if (configDescription == null) {
+            return null;
+        }
+        CachedConfigDescriptionDTO dto = new CachedConfigDescriptionDTO();
+        dto.uri = configDescription.getUID().toString();
+        dto.parameters = configDescription.getParameters().stream().map(CachedResultMapper::map).toList();
+        dto.parameterGroups = configDescription.getParameterGroups().stream().map(CachedResultMapper::map).toList();
+        return dto;
+    }
+
+    private static @Nullable ConfigDescription unmap(@Nullable CachedConfigDescriptionDTO dto) {
+        if (dto == null) {
+            return null;
+        }
+        ConfigDescriptionBuilder builder = ConfigDescriptionBuilder.create(URI.create(dto.uri));
+        List<CachedConfigParameterDTO> parameters = dto.parameters;
+        if (parameters != null) {
+            builder.withParameters(parameters.stream().map(CachedResultMapper::unmap).toList());
+        }
+        List<CachedConfigParameterGroupDTO> parameterGroups = dto.parameterGroups;
+        if (parameterGroups != null) {
+            builder.withParameterGroups(parameterGroups.stream().map(CachedResultMapper::unmap).toList());
+        }
+        return builder.build();
+    }
+
+    private static CachedConfigParameterDTO map(ConfigDescriptionParameter parameter) {
+        CachedConfigParameterDTO dto = new CachedConfigParameterDTO();
+        dto.name = parameter.getName();
+        dto.type = parameter.getType().name();
+        dto.groupName = parameter.getGroupName();
+        dto.label = parameter.getLabel();
+        dto.description = parameter.getDescription();
+        dto.context = parameter.getContext();
+        dto.defaultValue = parameter.getDefault();
+        dto.pattern = parameter.getPattern();
+        dto.unit = parameter.getUnit();
+        dto.unitLabel = parameter.getUnitLabel();
+        dto.minimum = parameter.getMinimum();
+        dto.maximum = parameter.getMaximum();
+        dto.stepSize = parameter.getStepSize();
+        dto.required = parameter.isRequired();
+        dto.readOnly = parameter.isReadOnly();
+        dto.multiple = parameter.isMultiple();
+        dto.multipleLimit = parameter.getMultipleLimit();
+        dto.advanced = parameter.isAdvanced();
+        dto.verify = parameter.isVerifyable();
+        dto.limitToOptions = parameter.getLimitToOptions();
+        List<ParameterOption> options = parameter.getOptions();
+        if (!options.isEmpty()) {
+            dto.options = options.stream().map(option -> new CachedOptionDTO(option.getValue(), option.getLabel()))
+                .toList();
+        }
+        List<FilterCriteria> filterCriteria = parameter.getFilterCriteria();
+        if (!filterCriteria.isEmpty()) {
+            dto.filterCriteria = filterCriteria.stream()
+                .map(criteria -> new CachedFilterCriteriaDTO(criteria.getName(), criteria.getValue())).toList();
+        }
+        return dto;
+    }
+
+    private static ConfigDescriptionParameter unmap(CachedConfigParameterDTO dto) {
+        ConfigDescriptionParameterBuilder builder = ConfigDescriptionParameterBuilder
+            .create(dto.name, ConfigDescriptionParameter.Type.valueOf(dto.type)).withGroupName(dto.groupName)
+            .withLabel(dto.label).withDescription(dto.description).withContext(dto.context)
+            .withDefault(dto.defaultValue).withPattern(dto.pattern).withUnit(dto.unit).withUnitLabel(dto.unitLabel)
+            .withMinimum(dto.minimum).withMaximum(dto.maximum).withStepSize(dto.stepSize).withRequired(dto.required)
+            .withReadOnly(dto.readOnly).withMultiple(dto.multiple).withMultipleLimit(dto.multipleLimit)
+            .withAdvanced(dto.advanced).withVerify(dto.verify).withLimitToOptions(dto.limitToOptions);
+        List<CachedOptionDTO> options = dto.options;
+        if (options != null) {
+            builder.withOptions(
+                options.stream().map(option -> new ParameterOption(option.value, option.label)).toList());
+        }
+        List<CachedFilterCriteriaDTO> filterCriteria = dto.filterCriteria;
+        if (filterCriteria != null) {
+            builder.withFilterCriteria(filterCriteria.stream()
+                .map(criteria -> new FilterCriteria(criteria.name, criteria.value)).toList());
+        }
+        return builder.build();
+    }
+
+    private static CachedConfigParameterGroupDTO map(ConfigDescriptionParameterGroup parameterGroup) {
+        CachedConfigParameterGroupDTO dto = new CachedConfigParameterGroupDTO();
+        dto.name = parameterGroup.getName();
+        dto.context = parameterGroup.getContext();
+        dto.advanced = parameterGroup.isAdvanced();
+        dto.label = parameterGroup.getLabel();
+        dto.description = parameterGroup.getDescription();
+        return dto;
+    }
+
+    private static ConfigDescriptionParameterGroup unmap(CachedConfigParameterGroupDTO dto) {
+        return ConfigDescriptionParameterGroupBuilder.create(dto.name).withContext(dto.context)
+            .withAdvanced(dto.advanced).withLabel(dto.label).withDescription(dto.description).build();
+    }
+
+    private static CachedChannelGroupTypeDTO map(ChannelGroupTypeXmlResult xmlResult) {
+        CachedChannelGroupTypeDTO dto = new CachedChannelGroupTypeDTO();
+        dto.uid = xmlResult.getUID().getAsString();
+        dto.label = xmlResult.getLabel();
+        dto.description = xmlResult.getDescription();
+        dto.category = xmlResult.getCategory();
+        dto.channels = mapChannels(xmlResult.getChannelTypeReferences());
+        return dto;
+    }
+
+    private static ChannelGroupTypeXmlResult unmap(CachedChannelGroupTypeDTO dto) {
+        return new ChannelGroupTypeXmlResult(new ChannelGroupTypeUID(dto.uid), dto.label, dto.description,
+            dto.category, unmapChannels(dto.channels));
+    }
+
+    private static @Nullable List<CachedChannelDTO> mapChannels(@Nullable List<ChannelXmlResult> channels) {
+        if (channels == null) {
+            return null;
+        }
+        List<CachedChannelDTO> result = new ArrayList<>(channels.size());
+        for (ChannelXmlResult channel : channels) {
+            CachedChannelDTO dto = new CachedChannelDTO();
+            dto.id = channel.getId();
+            dto.typeId = channel.getTypeId();
+            dto.label = channel.getLabel();
+            dto.description = channel.getDescription();
+            dto.properties = toPropertiesMap(channel.getProperties());
+            AutoUpdatePolicy autoUpdatePolicy = channel.getAutoUpdatePolicy();
+            dto.autoUpdatePolicy = autoUpdatePolicy == null ? null : autoUpdatePolicy.name();
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private static @Nullable List<ChannelXmlResult> unmapChannels(@Nullable List<CachedChannelDTO> channels) {
+        if (channels == null) {
+            return null;
+        }
+        List<ChannelXmlResult> result = new ArrayList<>(channels.size());
+        for (CachedChannelDTO dto : channels) {
+            Map<String, String> properties = dto.properties;
+            result.add(new ChannelXmlResult(dto.id, dto.typeId, dto.label, dto.description,
+                properties == null ? null : toNodeValues(properties),
+                dto.autoUpdatePolicy == null ? null : AutoUpdatePolicy.valueOf(dto.autoUpdatePolicy)));
+        }
+        return result;
+    }
+
+    private static Map<String, String> toPropertiesMap(List<NodeValue> properties) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (NodeValue property : properties) {
+            Map<String, String> attributes = property.getAttributes();
+            if (attributes != null) {
+                String name = attributes.get(PROPERTY_NAME_ATTRIBUTE);
+                Object value = property.getValue();
+                if (name != null && value != null) {
+                    result.put(name, value.toString());
+                }
+            }
+        }
+        return result;
+    }
+
+    private static List<NodeValue> toNodeValues(Map<String, String> properties) {
+        List<NodeValue> result = new ArrayList<>(properties.size());
+        for (Entry<String, String> entry : properties.entrySet()) {
+            result.add(new NodeValue(PROPERTY_NODE_NAME, Map.of(PROPERTY_NAME_ATTRIBUTE, entry.getKey()),
+                entry.getValue()));
+        }
+        return result;
+    }
+}
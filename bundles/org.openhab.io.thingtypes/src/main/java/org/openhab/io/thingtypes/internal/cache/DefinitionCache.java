@@ -0,0 +1,261 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.thingtypes.internal.cache.dto.CachedFileDTO;
+import org.openhab.io.thingtypes.internal.util.FileState;
+import org.openhab.io.thingtypes.internal.util.Interner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * A persistent cache of parsing results, so that files that haven't changed don't have to be parsed again when the
+ * add-on restarts.
+ * <p>
+ * Each file's results are stored in a separate JSON file, named after a digest of the source path. An entry is only
+ * used if the size, modification time and content digest of the source file all match. The whole cache is cleared
+ * if the version it was written with differs from the current version.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class DefinitionCache {
+
+    /** The version of the cache format, must be increased whenever the format changes */
+    public static final int FORMAT_VERSION = 3;
+
+    private static final String VERSION_FILENAME = "version";
+    private static final String ENTRY_EXTENSION = ".json";
+
+    private final Logger logger = LoggerFactory.getLogger(DefinitionCache.class);
+    private final Gson gson = new GsonBuilder().registerTypeAdapter(String.class, new InterningStringAdapter())
+        .create();
+    private final Path folder;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new instance using the specified folder, and clears the folder if it was populated by a different
+     * version.
+     *
+     * @param folder the folder to store the cache in.
+     * @param version the version string that identifies compatible cache entries.
+     */
+    public DefinitionCache(Path folder, String version) {
+        this.folder = folder;
+        String fullVersion = FORMAT_VERSION + "|" + version;
+        try {
+            Files.createDirectories(folder);
+            Path versionFile = folder.resolve(VERSION_FILENAME);
+            String cachedVersion = Files.isRegularFile(versionFile) ? Files.readString(versionFile, StandardCharsets.UTF_8).trim() : null;
+            if (!fullVersion.equals(cachedVersion)) {
+                if (cachedVersion != null) {
+                    logger.debug("Clearing definition cache \"{}\" since the version changed from {} to {}", folder, cachedVersion, fullVersion);
+                }
+                clearEntries();
+                Files.writeString(versionFile, fullVersion, StandardCharsets.UTF_8);
+            }
+            enabled = true;
+        } catch (IOException e) {
+            logger.warn("Disabling the definition cache since \"{}\" can't be used: {}", folder, e.getMessage());
+            logger.trace("", e);
+        }
+    }
+
+    /**
+     * Retrieves the cached parsing results for the specified file, if they are still valid.
+     *
+     * @param path the source file.
+     * @param state the current state of the source file.
+     * @return The cached parsing results or {@code null} if there is no valid cache entry.
+     */
+    public @Nullable List<Object> get(Path path, FileState state) {
+        if (!enabled) {
+            return null;
+        }
+        Path entryFile = getEntryFile(path);
+        if (!Files.isRegularFile(entryFile)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(entryFile, StandardCharsets.UTF_8)) {
+            CachedFileDTO dto = gson.fromJson(reader, CachedFileDTO.class);
+            if (
+                dto != null &&
+                path.toString().equals(dto.path) &&
+                state.size() == dto.size &&
+                state.lastModified() == dto.lastModified &&
+                state.digest().equals(dto.digest)
+            ) {
+                List<Object> result = CachedResultMapper.unmap(dto);
+                hits.incrementAndGet();
+                return result;
+            }
+        } catch (IOException | JsonParseException | IllegalArgumentException e) {
+            logger.debug("Ignoring invalid definition cache entry for \"{}\": {}", path, e.getMessage());
+            logger.trace("", e);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the parsing results for the specified file.
+     *
+     * @param path the source file.
+     * @param state the state of the source file when it was parsed.
+     * @param results the parsing results.
+     */
+    public void put(Path path, FileState state, List<?> results) {
+        if (!enabled) {
+            return;
+        }
+        CachedFileDTO dto = CachedResultMapper.map(results);
+        if (dto == null) {
+            remove(path);
+            return;
+        }
+        dto.path = path.toString();
+        dto.size = state.size();
+        dto.lastModified = state.lastModified();
+        dto.digest = state.digest();
+
+        Path entryFile = getEntryFile(path);
+        try {
+            Path tempFile = Files.createTempFile(folder, entryFile.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    gson.toJson(dto, writer);
+                }
+                Files.move(tempFile, entryFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to write definition cache entry for \"{}\": {}", path, e.getMessage());
+            logger.trace("", e);
+        }
+    }
+
+    /**
+     * Removes the cache entry for the specified file, if any.
+     *
+     * @param path the source file.
+     */
+    public void remove(Path path) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(getEntryFile(path));
+        } catch (IOException e) {
+            logger.debug("Failed to delete definition cache entry for \"{}\": {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes all cache entries except those for the specified files.
+     *
+     * @param paths the source files whose entries to keep.
+     */
+    public void retainAll(Collection<Path> paths) {
+        if (!enabled) {
+            return;
+        }
+        Set<Path> keep = new HashSet<>();
+        for (Path path : paths) {
+            keep.add(getEntryFile(path));
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + ENTRY_EXTENSION)) {
+            for (Path entryFile : stream) {
+                if (!keep.contains(entryFile)) {
+                    Files.deleteIfExists(entryFile);
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to prune definition cache \"{}\": {}", folder, e.getMessage());
+        }
+    }
+
+    /**
+     * @return The number of successful cache lookups.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of unsuccessful cache lookups.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void clearEntries() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + ENTRY_EXTENSION)) {
+            for (Path entryFile : stream) {
+                Files.deleteIfExists(entryFile);
+            }
+        }
+    }
+
+    private Path getEntryFile(Path path) {
+        return folder.resolve(FileState.digest(path.toString().getBytes(StandardCharsets.UTF_8)) + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Reads strings through the {@link Interner}, so that the many repeated strings of cached definitions share
+     * instances like they do when parsed.
+     */
+    private static class InterningStringAdapter extends TypeAdapter<String> {
+
+        @Override
+        public void write(JsonWriter out, @Nullable String value) throws IOException {
+            out.value(value);
+        }
+
+        @Override
+        public @Nullable String read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return Interner.intern(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache.dto;
+
+import java.util.Map;
+
+/**
+ * A cached channel or channel group reference.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+public class CachedChannelDTO {
+
+    public String id;
+    public String typeId;
+    public String label;
+    public String description;
+    public Map<String, String> properties;
+    public String autoUpdatePolicy;
+}
@@ -0,0 +1,39 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache.dto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A cached channel type parsing result.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+public class CachedChannelTypeDTO {
+
+    public String uid;
+    public boolean system;
+    public String kind;
+    public String itemType;
+    public String unitHint;
+    public String label;
+    public String description;
+    public String category;
+    public Set<String> tags;
+    public boolean advanced;
+    public CachedStateDescriptionDTO state;
+    public List<CachedOptionDTO> commandOptions;
+    public List<CachedOptionDTO> eventOptions;
+    public String autoUpdatePolicy;
+    public String configDescriptionURI;
+    public CachedConfigDescriptionDTO configDescription;
+}
@@ -0,0 +1,45 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A cached configuration description parameter.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+public class CachedConfigParameterDTO {
+
+    public String name;
+    public String type;
+    public String groupName;
+    public String label;
+    public String description;
+    public String context;
+    public String defaultValue;
+    public String pattern;
+    public String unit;
+    public String unitLabel;
+    public BigDecimal minimum;
+    public BigDecimal maximum;
+    public BigDecimal stepSize;
+    public boolean required;
+    public boolean readOnly;
+    public boolean multiple;
+    public Integer multipleLimit;
+    public boolean advanced;
+    public boolean verify;
+    public boolean limitToOptions;
+    public List<CachedOptionDTO> options;
+    public List<CachedFilterCriteriaDTO> filterCriteria;
+}
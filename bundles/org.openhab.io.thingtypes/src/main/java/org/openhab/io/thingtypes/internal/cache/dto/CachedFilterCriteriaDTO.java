@@ -0,0 +1,30 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache.dto;
+
+/**
+ * A cached configuration description parameter filter criteria.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+public class CachedFilterCriteriaDTO {
+
+    public String name;
+    public String value;
+
+    public CachedFilterCriteriaDTO() {
+    }
+
+    public CachedFilterCriteriaDTO(String name, String value) {
+        this.name = name;
+        this.value = value;
+    }
+}
@@ -24,6 +24,7 @@ import org.openhab.core.config.core.xml.util.ConverterAttributeMapValidator;
 import org.openhab.core.config.core.xml.util.GenericUnmarshaller;
 import org.openhab.core.config.core.xml.util.NodeIterator;
 import org.openhab.core.thing.type.AbstractDescriptionType;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -92,8 +93,8 @@ public abstract class AbstractDescriptionTypeConverter<T> extends GenericUnmarsh
      * @throws ConversionException if the label could not be read
      */
     protected String readLabel(NodeIterator nodeIterator) throws ConversionException {
-        return requireNonEmpty((String) nodeIterator.nextValue("label", true),
-                "The 'label' node cannot be null or empty!");
+        return Interner.intern(requireNonEmpty((String) nodeIterator.nextValue("label", true),
+                "The 'label' node cannot be null or empty!"));
     }
 
     /**
@@ -103,7 +104,7 @@ public abstract class AbstractDescriptionTypeConverter<T> extends GenericUnmarsh
      * @return the value of the description (could be empty)
      */
     protected @Nullable String readDescription(NodeIterator nodeIterator) {
-        return (String) nodeIterator.nextValue("description", false);
+        return Interner.internNullable((String) nodeIterator.nextValue("description", false));
     }
 
     private @Nullable URI readConfigDescriptionURI(NodeIterator nodeIterator) throws ConversionException {
@@ -20,6 +20,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.xml.util.ConverterAttributeMapValidator;
 import org.openhab.core.config.core.xml.util.NodeIterator;
 import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -67,6 +68,6 @@ public class ChannelGroupTypeConverter extends AbstractDescriptionTypeConverter<
 
     private @Nullable String readCategory(NodeIterator nodeIterator) {
         Object category = nodeIterator.nextValue("category", false);
-        return category == null ? null : category.toString();
+        return category == null ? null : Interner.intern(category.toString());
     }
 }
@@ -55,6 +55,22 @@ public class ChannelGroupTypeXmlResult {
         return channelGroupTypeUID;
     }
 
+    public String getLabel() {
+        return label;
+    }
+
+    public @Nullable String getDescription() {
+        return description;
+    }
+
+    public @Nullable String getCategory() {
+        return category;
+    }
+
+    public @Nullable List<ChannelXmlResult> getChannelTypeReferences() {
+        return channelTypeReferences;
+    }
+
     protected @Nullable List<ChannelDefinition> toChannelDefinitions(
             @Nullable List<ChannelXmlResult> channelTypeReferences) throws ConversionException {
         List<ChannelDefinition> channelTypeDefinitions = null;
@@ -37,6 +37,8 @@ import org.openhab.core.types.EventDescription;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.StateDescriptionFragment;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.io.thingtypes.internal.util.Interner;
+import org.openhab.io.thingtypes.internal.util.SharedDescriptions;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -78,9 +80,9 @@ public class ChannelTypeConverter extends AbstractDescriptionTypeConverter<Chann
     private ItemType readItemType(NodeIterator nodeIterator) throws ConversionException {
         Object next = nodeIterator.next("item-type", false);
         if (next instanceof NodeValue nodeValue) {
-            String itemType = (String) nodeValue.getValue();
+            String itemType = Interner.internNullable((String) nodeValue.getValue());
             Map<String, String> attributes = nodeValue.getAttributes();
-            String unitHint = attributes != null ? attributes.get("unitHint") : null;
+            String unitHint = attributes != null ? Interner.internNullable(attributes.get("unitHint")) : null;
             return new ItemType(itemType, unitHint);
         }
         return new ItemType(null, null);
@@ -91,7 +93,7 @@ public class ChannelTypeConverter extends AbstractDescriptionTypeConverter<Chann
     }
 
     private @Nullable String readCategory(NodeIterator nodeIterator) throws ConversionException {
-        return (String) nodeIterator.nextValue("category", false);
+        return Interner.internNullable((String) nodeIterator.nextValue("category", false));
     }
 
     private @Nullable AutoUpdatePolicy readAutoUpdatePolicy(NodeIterator nodeIterator) {
@@ -117,7 +119,7 @@ public class ChannelTypeConverter extends AbstractDescriptionTypeConverter<Chann
                     String tag = (String) tagNode.getValue();
 
                     if (tag != null) {
-                        tags.add(tag);
+                        tags.add(Interner.intern(tag));
                     }
                 } else {
                     throw new ConversionException("The 'tags' node must only contain 'tag' nodes!");
@@ -192,10 +194,10 @@ public class ChannelTypeConverter extends AbstractDescriptionTypeConverter<Chann
 
         StateDescription stateDescription = readStateDescription(nodeIterator);
         StateDescriptionFragment stateDescriptionFragment = stateDescription != null
-                ? StateDescriptionFragmentBuilder.create(stateDescription).build()
+                ? SharedDescriptions.share(StateDescriptionFragmentBuilder.create(stateDescription).build())
                 : null;
 
-        CommandDescription commandDescription = readCommandDescription(nodeIterator);
+        CommandDescription commandDescription = SharedDescriptions.share(readCommandDescription(nodeIterator));
         EventDescription eventDescription = readEventDescription(nodeIterator);
 
         AutoUpdatePolicy autoUpdatePolicy = readAutoUpdatePolicy(nodeIterator);
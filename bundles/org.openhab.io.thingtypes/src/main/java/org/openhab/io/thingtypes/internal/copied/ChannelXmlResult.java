@@ -24,6 +24,7 @@ import org.openhab.core.thing.type.AutoUpdatePolicy;
 import org.openhab.core.thing.type.ChannelDefinition;
 import org.openhab.core.thing.type.ChannelDefinitionBuilder;
 import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 
@@ -136,7 +137,7 @@ public class ChannelXmlResult {
             }
         }
 
-        return new ChannelDefinitionBuilder(id, new ChannelTypeUID(typeUID)).withProperties(propertiesMap)
+        return new ChannelDefinitionBuilder(id, new ChannelTypeUID(typeUID)).withProperties(Interner.internMap(propertiesMap))
                 .withLabel(getLabel()).withDescription(getDescription()).withAutoUpdatePolicy(getAutoUpdatePolicy())
                 .build();
     }
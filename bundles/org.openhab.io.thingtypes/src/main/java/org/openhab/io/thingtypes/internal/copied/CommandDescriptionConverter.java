@@ -23,6 +23,7 @@ import org.openhab.core.config.core.xml.util.NodeValue;
 import org.openhab.core.types.CommandDescription;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.CommandOption;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -62,7 +63,8 @@ public class CommandDescriptionConverter extends GenericUnmarshaller<CommandDesc
                         String command = attributes == null ? null : attributes.get("value");
 
                         if (name != null && command != null) {
-                            commandDescriptionBuilder.withCommandOption(new CommandOption(command, name));
+                            commandDescriptionBuilder.withCommandOption(
+                                    new CommandOption(Interner.intern(command), Interner.intern(name)));
                         }
                     } else {
                         throw new ConversionException("The 'options' node must only contain 'option' nodes!");
@@ -28,6 +28,7 @@ import org.openhab.core.config.core.xml.util.NodeValue;
 import org.openhab.core.types.StateDescription;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
 import org.openhab.core.types.StateOption;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -96,7 +97,8 @@ public class StateDescriptionConverter extends GenericUnmarshaller<StateDescript
             final String value = Optional.ofNullable(attributes).map(entry -> entry.get("value"))
                     .orElseThrow(() -> new ConversionException("The node 'option' requires the attribute 'value'!"));
             Object nodeValueValue = nodeValue.getValue();
-            return new StateOption(value, nodeValueValue == null ? null : nodeValueValue.toString());
+            return new StateOption(Interner.intern(value),
+                    nodeValueValue == null ? null : Interner.intern(nodeValueValue.toString()));
         }
 
         throw new ConversionException("Unknown type in the list of 'options'!");
@@ -126,7 +128,7 @@ public class StateDescriptionConverter extends GenericUnmarshaller<StateDescript
 
         String pattern = attributes.get("pattern");
         if (pattern != null) {
-            builder.withPattern(pattern);
+            builder.withPattern(Interner.intern(pattern));
         }
 
         NodeList nodes = (NodeList) context.convertAnother(context, NodeList.class);
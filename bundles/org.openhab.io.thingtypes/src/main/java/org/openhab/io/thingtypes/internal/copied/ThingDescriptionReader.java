@@ -12,9 +12,11 @@
  */
 package org.openhab.io.thingtypes.internal.copied;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.config.core.ConfigDescription;
 import org.openhab.core.config.core.ConfigDescriptionParameter;
 import org.openhab.core.config.core.ConfigDescriptionParameterGroup;
@@ -35,6 +37,7 @@ import org.openhab.core.types.EventDescription;
 import org.openhab.core.types.StateDescription;
 
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.converters.ConversionException;
 
 /**
  * The {@link ThingDescriptionReader} reads XML documents, which contain the {@code thing-description} XML tag, and
@@ -48,6 +51,9 @@ import com.thoughtworks.xstream.XStream;
 @NonNullByDefault
 public class ThingDescriptionReader extends XmlDocumentReader<List<?>> {
 
+    // Assigned while the super constructor configures it, so it must not have an initializer
+    private @Nullable XStream xstream;
+
     /**
      * The default constructor of this class.
      */
@@ -60,6 +66,7 @@ public class ThingDescriptionReader extends XmlDocumentReader<List<?>> {
 
     @Override
     protected void configureSecurity(XStream xstream) {
+        this.xstream = xstream;
         xstream.allowTypesByWildcard(new String[] { "org.openhab.core.**", "org.openhab.io.thingtypes.**" });
     }
 
@@ -122,4 +129,19 @@ public class ThingDescriptionReader extends XmlDocumentReader<List<?>> {
         xstream.alias("command-options", NodeList.class);
         xstream.alias("autoUpdatePolicy", NodeValue.class);
     }
+
+    /**
+     * Reads the specified XML document.
+     *
+     * @param content the document to read.
+     * @return The parsing results or {@code null}.
+     * @throws ConversionException If the document is invalid.
+     */
+    public @Nullable List<?> readFromXML(byte[] content) throws ConversionException {
+        XStream xstream = this.xstream;
+        if (xstream == null) {
+            throw new IllegalStateException("The reader hasn't been configured");
+        }
+        return (List<?>) xstream.fromXML(new ByteArrayInputStream(content));
+    }
 }
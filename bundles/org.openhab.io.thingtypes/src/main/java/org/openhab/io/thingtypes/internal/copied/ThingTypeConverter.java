@@ -25,6 +25,7 @@ import org.openhab.core.config.core.xml.util.NodeIterator;
 import org.openhab.core.config.core.xml.util.NodeList;
 import org.openhab.core.config.core.xml.util.NodeValue;
 import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 import com.thoughtworks.xstream.converters.Converter;
@@ -137,7 +138,7 @@ public class ThingTypeConverter extends AbstractDescriptionTypeConverter<ThingTy
     protected @Nullable String readCategory(NodeIterator nodeIterator) {
         Object category = nodeIterator.nextValue("category", false);
         if (category != null) {
-            return category.toString();
+            return Interner.intern(category.toString());
         } else {
             return null;
         }
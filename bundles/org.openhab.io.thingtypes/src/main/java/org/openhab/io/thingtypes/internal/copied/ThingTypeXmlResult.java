@@ -29,6 +29,7 @@ import org.openhab.core.thing.type.ChannelGroupDefinition;
 import org.openhab.core.thing.type.ChannelGroupTypeUID;
 import org.openhab.core.thing.type.ThingType;
 import org.openhab.core.thing.type.ThingTypeBuilder;
+import org.openhab.io.thingtypes.internal.util.Interner;
 
 import com.thoughtworks.xstream.converters.ConversionException;
 
@@ -81,6 +82,50 @@ public class ThingTypeXmlResult {
         return thingTypeUID;
     }
 
+    public @Nullable List<String> getSupportedBridgeTypeUIDs() {
+        return supportedBridgeTypeUIDs;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public @Nullable String getDescription() {
+        return description;
+    }
+
+    public @Nullable String getCategory() {
+        return category;
+    }
+
+    public boolean isListed() {
+        return listed;
+    }
+
+    public @Nullable List<String> getExtensibleChannelTypeIds() {
+        return extensibleChannelTypeIds;
+    }
+
+    public @Nullable String getRepresentationProperty() {
+        return representationProperty;
+    }
+
+    public @Nullable List<ChannelXmlResult> getChannelTypeReferences() {
+        return channelTypeReferences;
+    }
+
+    public @Nullable List<ChannelXmlResult> getChannelGroupTypeReferences() {
+        return channelGroupTypeReferences;
+    }
+
+    public @Nullable List<NodeValue> getProperties() {
+        return properties;
+    }
+
+    public @Nullable URI getConfigDescriptionURI() {
+        return configDescriptionURI;
+    }
+
     public ConfigDescription getConfigDescription() {
         return configDescription;
     }
@@ -124,7 +169,7 @@ public class ThingTypeXmlResult {
         return channelGroupTypeDefinitions;
     }
 
-    protected @Nullable Map<String, String> toPropertiesMap() {
+    public @Nullable Map<String, String> toPropertiesMap() {
         List<NodeValue> properties = this.properties;
         if (properties == null) {
             return null;
@@ -143,7 +188,7 @@ public class ThingTypeXmlResult {
                 }
             }
         }
-        return propertiesMap;
+        return Interner.internMap(propertiesMap);
     }
 
     ThingTypeBuilder getBuilder() {
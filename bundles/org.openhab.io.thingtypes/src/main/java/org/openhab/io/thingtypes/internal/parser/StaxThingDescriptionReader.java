@@ -0,0 +1,745 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.ConfigDescriptionBuilder;
+import org.openhab.core.config.core.ConfigDescriptionParameter;
+import org.openhab.core.config.core.ConfigDescriptionParameterBuilder;
+import org.openhab.core.config.core.ConfigDescriptionParameterGroup;
+import org.openhab.core.config.core.ConfigDescriptionParameterGroupBuilder;
+import org.openhab.core.config.core.FilterCriteria;
+import org.openhab.core.config.core.ParameterOption;
+import org.openhab.core.config.core.xml.util.NodeValue;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.AutoUpdatePolicy;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ChannelKind;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeBuilder;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.thing.type.TriggerChannelTypeBuilder;
+import org.openhab.core.types.CommandDescription;
+import org.openhab.core.types.CommandDescriptionBuilder;
+import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.EventDescription;
+import org.openhab.core.types.EventOption;
+import org.openhab.core.types.StateDescriptionFragment;
+import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.StateOption;
+import org.openhab.io.thingtypes.internal.copied.BridgeTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelGroupTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.copied.ThingTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.XmlHelper;
+import org.openhab.io.thingtypes.internal.util.Interner;
+import org.openhab.io.thingtypes.internal.util.SharedDescriptions;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+
+/**
+ * Reads XML documents containing the {@code thing-descriptions} XML tag in a single pass, creating the same
+ * {@link ThingTypeXmlResult}, {@link BridgeTypeXmlResult}, {@link ChannelTypeXmlResult} and
+ * {@link ChannelGroupTypeXmlResult} objects as {@link ThingDescriptionReader} directly from the {@code StAX} event
+ * stream, without the intermediate node objects created by the {@code XStream} converters.
+ * <p>
+ * The elements must appear in the same order as required by {@link ThingDescriptionReader}. Instances aren't
+ * thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class StaxThingDescriptionReader {
+
+    /** Line breaks and the indentation that follows them, which the XStream based reader replaces with a space */
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\n\\s*");
+
+    private final XMLInputFactory factory;
+
+    /** An option value and its label */
+    private record Option(String value, @Nullable String label) {
+    }
+
+    /**
+     * Creates a new instance.
+     */
+    public StaxThingDescriptionReader() {
+        factory = XMLInputFactory.newDefaultFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    }
+
+    /**
+     * Reads the specified XML document.
+     *
+     * @param xmlURL the {@link URL} of the document to read.
+     * @return The {@link List} of parsing results.
+     * @throws ConversionException If the document can't be read or is invalid.
+     */
+    public List<Object> readFromXML(URL xmlURL) throws ConversionException {
+        try (InputStream is = xmlURL.openStream()) {
+            XMLStreamReader reader = factory.createXMLStreamReader(is);
+            try {
+                return readDocument(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new ConversionException("Failed to read \"" + xmlURL + "\": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the specified XML document.
+     *
+     * @param content the document to read.
+     * @param name the name of the document, used in error messages.
+     * @return The {@link List} of parsing results.
+     * @throws ConversionException If the document is invalid.
+     */
+    public List<Object> readFromXML(byte[] content, String name) throws ConversionException {
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(content));
+            try {
+                return readDocument(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new ConversionException("Failed to read \"" + name + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private List<Object> readDocument(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!at(reader, "thing-descriptions")) {
+            throw new ConversionException("The root node must be 'thing-descriptions'!");
+        }
+        Map<String, String> attributes = readAttributes(reader, "bindingId", "schemaLocation");
+        String bindingId = requireNonEmpty(attributes.get("bindingId"),
+            "The attribute 'bindingId' of the node 'thing-descriptions' is mandatory!");
+        List<Object> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            switch (reader.getLocalName()) {
+                case "thing-type":
+                    result.add(readThingType(reader, bindingId, false));
+                    break;
+                case "bridge-type":
+                    result.add(readThingType(reader, bindingId, true));
+                    break;
+                case "channel-type":
+                    result.add(readChannelType(reader, bindingId));
+                    break;
+                case "channel-group-type":
+                    result.add(readChannelGroupType(reader, bindingId));
+                    break;
+                default:
+                    throw unexpected(reader, "thing-descriptions");
+            }
+        }
+        return result;
+    }
+
+    private ThingTypeXmlResult readThingType(XMLStreamReader reader, String bindingId, boolean bridge)
+            throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "id", "listed", "extensible");
+        String uid = bindingId + ':' + requireId(attributes);
+        String listedFlag = attributes.get("listed");
+        boolean listed = listedFlag == null || Boolean.parseBoolean(listedFlag);
+        String extensible = attributes.get("extensible");
+        List<String> extensibleChannelTypeIds = extensible == null ? List.of() :
+            Arrays.stream(extensible.split(",")).map(String::trim).toList();
+
+        reader.nextTag();
+        List<String> supportedBridgeTypeUIDs = null;
+        if (at(reader, "supported-bridge-type-refs")) {
+            supportedBridgeTypeUIDs = readSupportedBridgeTypeUIDs(reader, bindingId);
+        }
+        String label = requireNonEmpty(readValue(reader, "label"), "The 'label' node cannot be null or empty!");
+        String description = readValue(reader, "description");
+        String category = readValue(reader, "category");
+        @Nullable List<ChannelXmlResult>[] channelTypeReferenceObjects = newChannelListArray();
+        if (at(reader, "channels")) {
+            channelTypeReferenceObjects[0] = readChannels(reader, "channels", "channel");
+        } else if (at(reader, "channel-groups")) {
+            channelTypeReferenceObjects[1] = readChannels(reader, "channel-groups", "channel-group");
+        }
+        List<NodeValue> properties = at(reader, "properties") ? readProperties(reader) : null;
+        String representationProperty = readValue(reader, "representation-property");
+        Object[] configDescriptionObjects = readConfigDescriptionObjects(reader, "thing-type:" + uid);
+        assertEnd(reader, bridge ? "bridge-type" : "thing-type");
+
+        ThingTypeUID thingTypeUID = new ThingTypeUID(uid);
+        return bridge ?
+            new BridgeTypeXmlResult(thingTypeUID, supportedBridgeTypeUIDs, label, description, category, listed,
+                extensibleChannelTypeIds, channelTypeReferenceObjects, properties, representationProperty,
+                configDescriptionObjects) :
+            new ThingTypeXmlResult(thingTypeUID, supportedBridgeTypeUIDs, label, description, category, listed,
+                extensibleChannelTypeIds, channelTypeReferenceObjects, properties, representationProperty,
+                configDescriptionObjects);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable List<ChannelXmlResult>[] newChannelListArray() {
+        return new List[2];
+    }
+
+    private List<String> readSupportedBridgeTypeUIDs(XMLStreamReader reader, String bindingId)
+            throws XMLStreamException {
+        List<String> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, "bridge-type-ref")) {
+                throw new ConversionException("Invalid element in 'supported-bridge-type-refs'!");
+            }
+            String id = reader.getAttributeValue(null, "id");
+            if (id == null) {
+                throw new ConversionException("Missing attribute 'id' in 'bridge-type-ref'!");
+            }
+            String refBindingId = reader.getAttributeValue(null, "bindingId");
+            result.add((refBindingId == null ? bindingId : refBindingId) + ':' + id);
+            skipEmpty(reader, "bridge-type-ref");
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private List<ChannelXmlResult> readChannels(XMLStreamReader reader, String listName, String elementName)
+            throws XMLStreamException {
+        List<ChannelXmlResult> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, elementName)) {
+                throw unexpected(reader, listName);
+            }
+            Map<String, String> attributes = readAttributes(reader, "id", "typeId");
+            String id = requireNonEmpty(attributes.get("id"), "Channel id attribute is null or empty");
+            String typeId = requireNonEmpty(attributes.get("typeId"), "Channel typeId attribute is null or empty");
+            reader.nextTag();
+            String label = readValue(reader, "label");
+            String description = readValue(reader, "description");
+            List<NodeValue> properties = at(reader, "properties") ? readProperties(reader) : null;
+            AutoUpdatePolicy autoUpdatePolicy = readAutoUpdatePolicy(reader);
+            assertEnd(reader, elementName);
+            result.add(new ChannelXmlResult(id, typeId, label, description, properties, autoUpdatePolicy));
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private List<NodeValue> readProperties(XMLStreamReader reader) throws XMLStreamException {
+        List<NodeValue> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, "property")) {
+                throw unexpected(reader, "properties");
+            }
+            Map<String, String> attributes = readAttributes(reader);
+            result.add(new NodeValue("property", attributes, readText(reader)));
+            reader.nextTag();
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private ChannelTypeXmlResult readChannelType(XMLStreamReader reader, String bindingId)
+            throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "id", "advanced", "system");
+        String id = requireId(attributes);
+        boolean advanced = Boolean.parseBoolean(attributes.get("advanced"));
+        boolean system = Boolean.parseBoolean(attributes.get("system"));
+        ChannelTypeUID channelTypeUID = new ChannelTypeUID(system ? XmlHelper.getSystemUID(id) : bindingId + ':' + id);
+
+        reader.nextTag();
+        String itemType = null;
+        String unitHint = null;
+        if (at(reader, "item-type")) {
+            unitHint = Interner.internNullable(reader.getAttributeValue(null, "unitHint"));
+            itemType = readText(reader);
+            reader.nextTag();
+        }
+        String kind = readValue(reader, "kind");
+        String label = requireNonEmpty(readValue(reader, "label"), "The 'label' node cannot be null or empty!");
+        String description = readValue(reader, "description");
+        String category = readValue(reader, "category");
+        Set<String> tags = at(reader, "tags") ? readTags(reader) : null;
+        StateDescriptionFragment stateDescriptionFragment = at(reader, "state")
+            ? SharedDescriptions.share(readState(reader))
+            : null;
+        CommandDescription commandDescription = at(reader, "command")
+            ? SharedDescriptions.share(readCommand(reader))
+            : null;
+        EventDescription eventDescription = at(reader, "event") ? readEvent(reader) : null;
+        AutoUpdatePolicy autoUpdatePolicy = readAutoUpdatePolicy(reader);
+        Object[] configDescriptionObjects = readConfigDescriptionObjects(reader, "channel-type:" + bindingId + ':' + id);
+        assertEnd(reader, "channel-type");
+
+        ChannelKind cKind = ChannelKind.parse(kind == null ? ChannelKind.STATE.name() : kind);
+        URI configDescriptionURI = (URI) configDescriptionObjects[0];
+        final ChannelTypeBuilder<?> builder;
+        if (cKind == ChannelKind.STATE) {
+            itemType = requireNonEmpty(itemType, "ChannelType 'itemType' must not be null or empty.");
+            builder = ChannelTypeBuilder.state(channelTypeUID, label, itemType).isAdvanced(advanced)
+                .withConfigDescriptionURI(configDescriptionURI)
+                .withStateDescriptionFragment(stateDescriptionFragment).withAutoUpdatePolicy(autoUpdatePolicy)
+                .withCommandDescription(commandDescription).withUnitHint(unitHint);
+        } else if (cKind == ChannelKind.TRIGGER) {
+            TriggerChannelTypeBuilder triggerChannelTypeBuilder = ChannelTypeBuilder.trigger(channelTypeUID, label)
+                .isAdvanced(advanced).withConfigDescriptionURI(configDescriptionURI);
+            builder = triggerChannelTypeBuilder;
+            if (eventDescription != null) {
+                triggerChannelTypeBuilder.withEventDescription(eventDescription);
+            }
+        } else {
+            throw new IllegalArgumentException(String.format("Unknown channel kind: '%s'", cKind));
+        }
+        if (category != null) {
+            builder.withCategory(category);
+        }
+        if (description != null) {
+            builder.withDescription(description);
+        }
+        if (tags != null) {
+            builder.withTags(Interner.internSet(tags));
+        }
+        ChannelType channelType = builder.build();
+        return new ChannelTypeXmlResult(channelType, (ConfigDescription) configDescriptionObjects[1], system);
+    }
+
+    private Set<String> readTags(XMLStreamReader reader) throws XMLStreamException {
+        Set<String> result = new HashSet<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, "tag")) {
+                throw new ConversionException("The 'tags' node must only contain 'tag' nodes!");
+            }
+            String tag = readText(reader);
+            if (tag != null) {
+                result.add(tag);
+            }
+            reader.nextTag();
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private StateDescriptionFragment readState(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "min", "max", "step", "pattern", "readOnly");
+        StateDescriptionFragmentBuilder builder = StateDescriptionFragmentBuilder.create()
+            .withReadOnly(Boolean.parseBoolean(attributes.get("readOnly")));
+        BigDecimal minimum = toBigDecimal(attributes, "min");
+        if (minimum != null) {
+            builder.withMinimum(minimum);
+        }
+        BigDecimal maximum = toBigDecimal(attributes, "max");
+        if (maximum != null) {
+            builder.withMaximum(maximum);
+        }
+        BigDecimal step = toBigDecimal(attributes, "step");
+        if (step != null) {
+            builder.withStep(step);
+        }
+        String pattern = attributes.get("pattern");
+        if (pattern != null) {
+            builder.withPattern(pattern);
+        }
+        reader.nextTag();
+        if (at(reader, "options")) {
+            List<StateOption> options = new ArrayList<>();
+            for (Option option : readOptions(reader, true)) {
+                options.add(new StateOption(option.value(), option.label()));
+            }
+            builder.withOptions(options);
+        }
+        assertEnd(reader, "state");
+        // Round trip through StateDescription like the XStream converters do
+        return StateDescriptionFragmentBuilder.create(builder.build().toStateDescription()).build();
+    }
+
+    private @Nullable CommandDescription readCommand(XMLStreamReader reader) throws XMLStreamException {
+        CommandDescription result = null;
+        reader.nextTag();
+        if (at(reader, "options")) {
+            CommandDescriptionBuilder builder = CommandDescriptionBuilder.create();
+            for (Option option : readOptions(reader, false)) {
+                String label = option.label();
+                if (label != null) {
+                    builder.withCommandOption(new CommandOption(option.value(), label));
+                }
+            }
+            result = builder.build();
+        }
+        assertEnd(reader, "command");
+        return result;
+    }
+
+    private EventDescription readEvent(XMLStreamReader reader) throws XMLStreamException {
+        List<EventOption> options = null;
+        reader.nextTag();
+        if (at(reader, "options")) {
+            options = new ArrayList<>();
+            for (Option option : readOptions(reader, true)) {
+                options.add(new EventOption(option.value(), option.label()));
+            }
+        }
+        assertEnd(reader, "event");
+        return new EventDescription(options);
+    }
+
+    /**
+     * Reads an {@code options} element with {@code option} children, returning the value attributes and labels in
+     * document order. Options without a value attribute are either rejected or skipped.
+     */
+    private List<Option> readOptions(XMLStreamReader reader, boolean requireValue)
+            throws XMLStreamException {
+        List<Option> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, "option")) {
+                throw new ConversionException("Unknown type in the list of 'options'!");
+            }
+            String value = reader.getAttributeValue(null, "value");
+            String label = readText(reader);
+            if (value != null) {
+                result.add(new Option(Interner.intern(value), label));
+            } else if (requireValue) {
+                throw new ConversionException("The node 'option' requires the attribute 'value'!");
+            }
+            reader.nextTag();
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private ChannelGroupTypeXmlResult readChannelGroupType(XMLStreamReader reader, String bindingId)
+            throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "id");
+        ChannelGroupTypeUID channelGroupTypeUID = new ChannelGroupTypeUID(bindingId + ':' + requireId(attributes));
+        reader.nextTag();
+        String label = requireNonEmpty(readValue(reader, "label"), "The 'label' node cannot be null or empty!");
+        String description = readValue(reader, "description");
+        String category = readValue(reader, "category");
+        List<ChannelXmlResult> channels = at(reader, "channels") ? readChannels(reader, "channels", "channel") : null;
+        assertEnd(reader, "channel-group-type");
+        return new ChannelGroupTypeXmlResult(channelGroupTypeUID, label, description, category, channels);
+    }
+
+    private @Nullable AutoUpdatePolicy readAutoUpdatePolicy(XMLStreamReader reader) throws XMLStreamException {
+        String value = readValue(reader, "autoUpdatePolicy");
+        return value == null ? null : AutoUpdatePolicy.valueOf(value.toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Reads an optional {@code config-description-ref} or {@code config-description} element.
+     *
+     * @return An array with the configuration description {@link URI} and {@link ConfigDescription}, both of which
+     *         can be {@code null}.
+     */
+    private Object[] readConfigDescriptionObjects(XMLStreamReader reader, String defaultURI)
+            throws XMLStreamException {
+        URI configDescriptionURI = null;
+        ConfigDescription configDescription = null;
+        if (at(reader, "config-description-ref")) {
+            String uriText = reader.getAttributeValue(null, "uri");
+            if (uriText != null) {
+                configDescriptionURI = toURI(uriText, "config-description-ref");
+            }
+            skipEmpty(reader, "config-description-ref");
+        } else if (at(reader, "config-description")) {
+            configDescription = readConfigDescription(reader, defaultURI);
+            configDescriptionURI = configDescription.getUID();
+        }
+        return new Object[] { configDescriptionURI, configDescription };
+    }
+
+    private ConfigDescription readConfigDescription(XMLStreamReader reader, String defaultURI)
+            throws XMLStreamException {
+        String uriText = reader.getAttributeValue(null, "uri");
+        URI uri = toURI(uriText == null ? defaultURI : uriText, "config-description");
+        List<ConfigDescriptionParameter> parameters = new ArrayList<>();
+        List<ConfigDescriptionParameterGroup> groups = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (at(reader, "parameter")) {
+                parameters.add(readParameter(reader));
+            } else if (at(reader, "parameter-group")) {
+                groups.add(readParameterGroup(reader));
+            } else {
+                throw unexpected(reader, "config-description");
+            }
+        }
+        reader.nextTag();
+        return ConfigDescriptionBuilder.create(uri).withParameters(parameters).withParameterGroups(groups).build();
+    }
+
+    private ConfigDescriptionParameter readParameter(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "name", "type", "min", "max", "step", "pattern",
+            "required", "readOnly", "multiple", "groupName", "unit");
+        String name = requireNonEmpty(attributes.get("name"),
+            "The attribute 'name' of the node 'parameter' is mandatory!");
+        String typeText = requireNonEmpty(attributes.get("type"),
+            "The attribute 'type' of the node 'parameter' is mandatory!");
+        ConfigDescriptionParameter.Type type;
+        try {
+            type = ConfigDescriptionParameter.Type.valueOf(typeText.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new ConversionException("The attribute 'type' of the node 'parameter' is invalid: " + typeText, e);
+        }
+        String unit = attributes.get("unit");
+
+        Map<String, String> values = new HashMap<>();
+        List<ParameterOption> options = null;
+        List<FilterCriteria> filterCriteria = null;
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (at(reader, "options")) {
+                options = new ArrayList<>();
+                for (Option option : readOptions(reader, true)) {
+                    String label = option.label();
+                    options.add(new ParameterOption(option.value(), label == null ? "" : label));
+                }
+            } else if (at(reader, "filter")) {
+                filterCriteria = readFilterCriteria(reader);
+            } else {
+                values.put(reader.getLocalName(), formatText(reader.getElementText()));
+                reader.nextTag();
+            }
+        }
+        reader.nextTag();
+
+        String requiredText = attributes.get("required");
+        if (requiredText == null) {
+            requiredText = values.get("required");
+        }
+        String multipleLimit = values.get("multipleLimit");
+        return ConfigDescriptionParameterBuilder.create(name, type)
+            .withMinimum(toBigDecimal(attributes, "min"))
+            .withMaximum(toBigDecimal(attributes, "max"))
+            .withStepSize(toBigDecimal(attributes, "step"))
+            .withPattern(attributes.get("pattern"))
+            .withRequired(Boolean.parseBoolean(requiredText))
+            .withReadOnly(Boolean.parseBoolean(attributes.get("readOnly")))
+            .withMultiple(Boolean.parseBoolean(attributes.get("multiple")))
+            .withContext(values.get("context"))
+            .withDefault(values.get("default"))
+            .withLabel(values.get("label"))
+            .withDescription(values.get("description"))
+            .withOptions(options)
+            .withFilterCriteria(filterCriteria)
+            .withGroupName(attributes.get("groupName"))
+            .withAdvanced(Boolean.parseBoolean(values.get("advanced")))
+            .withVerify(Boolean.parseBoolean(values.get("verify")))
+            .withLimitToOptions(!values.containsKey("limitToOptions") ||
+                Boolean.parseBoolean(values.get("limitToOptions")))
+            .withMultipleLimit(multipleLimit == null ? null : toInteger(multipleLimit, "multipleLimit"))
+            .withUnit(unit)
+            .withUnitLabel(unit == null ? values.get("unitLabel") : null)
+            .build();
+    }
+
+    private List<FilterCriteria> readFilterCriteria(XMLStreamReader reader) throws XMLStreamException {
+        List<FilterCriteria> result = new ArrayList<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            if (!at(reader, "criteria")) {
+                throw unexpected(reader, "filter");
+            }
+            String name = requireNonEmpty(reader.getAttributeValue(null, "name"),
+                "The attribute 'name' of the node 'criteria' is mandatory!");
+            result.add(new FilterCriteria(name, reader.getElementText()));
+            reader.nextTag();
+        }
+        reader.nextTag();
+        return result;
+    }
+
+    private ConfigDescriptionParameterGroup readParameterGroup(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> attributes = readAttributes(reader, "name");
+        String name = requireNonEmpty(attributes.get("name"),
+            "The attribute 'name' of the node 'parameter-group' is mandatory!");
+        Map<String, String> values = new HashMap<>();
+        reader.nextTag();
+        while (reader.isStartElement()) {
+            values.put(reader.getLocalName(), formatText(reader.getElementText()));
+            reader.nextTag();
+        }
+        reader.nextTag();
+        return ConfigDescriptionParameterGroupBuilder.create(name)
+            .withContext(values.get("context"))
+            .withAdvanced(Boolean.parseBoolean(values.get("advanced")))
+            .withLabel(values.get("label"))
+            .withDescription(values.get("description"))
+            .build();
+    }
+
+    /**
+     * Evaluates if the reader is positioned at the start of an element with the specified name.
+     */
+    private static boolean at(XMLStreamReader reader, String name) {
+        return reader.isStartElement() && name.equals(reader.getLocalName());
+    }
+
+    /**
+     * Reads the text of an optional element without children and advances to the next tag.
+     *
+     * @return The element text or {@code null} if the reader isn't positioned at the specified element or the
+     *         element is empty.
+     */
+    private static @Nullable String readValue(XMLStreamReader reader, String name) throws XMLStreamException {
+        if (!at(reader, name)) {
+            return null;
+        }
+        String result = readText(reader);
+        reader.nextTag();
+        return result;
+    }
+
+    /**
+     * Reads the text of the current element, which must not have children. Like with the XStream based reader, line
+     * breaks are replaced, the text is trimmed, and an element without text has no value.
+     *
+     * @return The element text or {@code null} if the element is empty.
+     */
+    private static @Nullable String readText(XMLStreamReader reader) throws XMLStreamException {
+        String text = formatText(reader.getElementText());
+        return text.isEmpty() ? null : Interner.intern(text);
+    }
+
+    /**
+     * Replaces line breaks and the indentation that follows them with a space and trims the text, like the XStream
+     * based reader does with element text.
+     */
+    private static String formatText(String text) {
+        return (text.indexOf('\n') < 0 ? text : LINE_BREAK_PATTERN.matcher(text).replaceAll(" ")).trim();
+    }
+
+    /**
+     * Verifies that the current element has no children and advances to the next tag.
+     */
+    private static void skipEmpty(XMLStreamReader reader, String name) throws XMLStreamException {
+        if (reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            throw unexpected(reader, name);
+        }
+        reader.nextTag();
+    }
+
+    /**
+     * Verifies that the reader is positioned at the end of the specified element, then advances to the next tag.
+     */
+    private static void assertEnd(XMLStreamReader reader, String name) throws XMLStreamException {
+        if (!reader.isEndElement()) {
+            throw unexpected(reader, name);
+        }
+        reader.nextTag();
+    }
+
+    private static ConversionException unexpected(XMLStreamReader reader, String parent) {
+        return new ConversionException("The node '" + reader.getLocalName() + "' is not allowed in '" + parent +
+            "' at this position (line " + reader.getLocation().getLineNumber() + ")!");
+    }
+
+    /**
+     * Reads the attributes of the current element, rejecting attributes that aren't allowed.
+     *
+     * @param allowed the allowed attribute names, or none to allow all attributes.
+     */
+    private static Map<String, String> readAttributes(XMLStreamReader reader, String... allowed) {
+        int count = reader.getAttributeCount();
+        Map<String, String> result = new HashMap<>(Math.max(4, count * 2));
+        for (int i = 0; i < count; i++) {
+            String name = reader.getAttributeLocalName(i);
+            if (allowed.length > 0 && !contains(allowed, name)) {
+                throw new ConversionException(
+                    "The attribute '" + name + "' of the node '" + reader.getLocalName() + "' is not supported!");
+            }
+            result.put(name, Interner.intern(reader.getAttributeValue(i)));
+        }
+        return result;
+    }
+
+    private static boolean contains(String[] names, String name) {
+        for (String candidate : names) {
+            if (candidate.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String requireId(Map<String, String> attributes) {
+        return requireNonEmpty(attributes.get("id"), "The 'id' attribute cannot be null or empty!");
+    }
+
+    private static String requireNonEmpty(@Nullable String value, String message) {
+        if (value == null || value.isEmpty()) {
+            throw new ConversionException(message);
+        }
+        return value;
+    }
+
+    private static @Nullable BigDecimal toBigDecimal(Map<String, String> attributes, String attribute) {
+        String text = attributes.get(attribute);
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw new ConversionException("The attribute '" + attribute + "' has not a valid decimal number format!",
+                e);
+        }
+    }
+
+    private static Integer toInteger(String text, String node) {
+        try {
+            return Integer.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            throw new ConversionException("The node '" + node + "' has not a valid integer format!", e);
+        }
+    }
+
+    private static URI toURI(String text, String node) {
+        try {
+            return new URI(text);
+        } catch (URISyntaxException e) {
+            throw new ConversionException("The URI '" + text + "' in node '" + node + "' is invalid!", e);
+        }
+    }
+}
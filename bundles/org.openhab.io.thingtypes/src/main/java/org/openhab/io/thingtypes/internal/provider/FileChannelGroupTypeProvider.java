@@ -10,25 +10,21 @@
  */
 package org.openhab.io.thingtypes.internal.provider;
 
-import java.nio.file.Path;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.thing.type.ChannelGroupType;
 import org.openhab.core.thing.type.ChannelGroupTypeProvider;
 import org.openhab.core.thing.type.ChannelGroupTypeUID;
-import org.openhab.io.thingtypes.internal.copied.ChannelGroupTypeXmlResult;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
- * Provides {@link ChannelGroupType}s parsed from files.
+ * Provides {@link ChannelGroupType}s parsed from files, as held by the {@link FileTypeStore}, translated by the
+ * {@link FileTypeLocalizer}.
  *
  * @author Ravi Nadahar - Initial contribution
  */
@@ -36,52 +32,25 @@ import org.osgi.service.component.annotations.Component;
 @Component(immediate = true, service = { ChannelGroupTypeProvider.class, FileChannelGroupTypeProvider.class })
 public class FileChannelGroupTypeProvider implements ChannelGroupTypeProvider {
 
-    // All access must be guarded by "this"
-    private final Map<Path, Set<ChannelGroupType>> referenceMap = new HashMap<>();
+    private final FileTypeStore store;
+    private final FileTypeLocalizer localizer;
 
-    // All access must be guarded by "this"
-    private final Set<ChannelGroupType> channelGroupTypes = new HashSet<>();
-
-    /**
-     * Add the specified parsing result from the specified file.
-     *
-     * @param path the file from which the parsing result originates.
-     * @param xmlResult the parsing result to add.
-     */
-    public void add(Path path, ChannelGroupTypeXmlResult xmlResult) {
-        ChannelGroupType channelGroupType = xmlResult.toChannelGroupType();
-        synchronized (this) {
-            Set<ChannelGroupType> pathSet = Objects.requireNonNull(referenceMap.computeIfAbsent(path, p -> new HashSet<ChannelGroupType>()));
-            pathSet.add(channelGroupType);
-            channelGroupTypes.add(channelGroupType);
-        }
-    }
-
-    /**
-     * Remove all parsing results associated with the specified file.
-     *
-     * @param path the file whose parsing results to remove.
-     */
-    public synchronized void remove(Path path) {
-        Set<ChannelGroupType> toRemove = referenceMap.remove(path);
-        if (toRemove != null) {
-            channelGroupTypes.removeAll(toRemove);
-        }
+    @Activate
+    public FileChannelGroupTypeProvider(@Reference FileTypeStore store, @Reference FileTypeLocalizer localizer) {
+        this.store = store;
+        this.localizer = localizer;
     }
 
     @Override
-    public synchronized @Nullable ChannelGroupType getChannelGroupType(ChannelGroupTypeUID channelGroupTypeUID,
+    public @Nullable ChannelGroupType getChannelGroupType(ChannelGroupTypeUID channelGroupTypeUID,
         @Nullable Locale locale) {
-        for (ChannelGroupType channelGroupType : channelGroupTypes) {
-            if (channelGroupTypeUID.equals(channelGroupType.getUID())) {
-                return channelGroupType;
-            }
-        }
-        return null;
+        // Most lookups are for types from bindings that have no types here, which have no shard
+        ChannelGroupType channelGroupType = store.getSnapshot().getChannelGroupType(channelGroupTypeUID);
+        return channelGroupType == null ? null : localizer.localize(channelGroupType, locale);
     }
 
     @Override
-    public synchronized Collection<ChannelGroupType> getChannelGroupTypes(@Nullable Locale locale) {
-        return Set.copyOf(channelGroupTypes);
+    public Collection<ChannelGroupType> getChannelGroupTypes(@Nullable Locale locale) {
+        return localizer.localizeChannelGroupTypes(store.getSnapshot(), locale);
     }
 }
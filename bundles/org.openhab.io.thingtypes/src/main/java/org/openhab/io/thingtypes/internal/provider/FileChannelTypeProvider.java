@@ -10,25 +10,21 @@
  */
 package org.openhab.io.thingtypes.internal.provider;
 
-import java.nio.file.Path;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.thing.type.ChannelType;
 import org.openhab.core.thing.type.ChannelTypeProvider;
 import org.openhab.core.thing.type.ChannelTypeUID;
-import org.openhab.io.thingtypes.internal.copied.ChannelTypeXmlResult;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 
 /**
- * Provides {@link ChannelType}s parsed from files.
+ * Provides {@link ChannelType}s parsed from files, as held by the {@link FileTypeStore}, translated by the
+ * {@link FileTypeLocalizer}.
  *
  * @author Ravi Nadahar - Initial contribution
  */
@@ -36,51 +32,24 @@ import org.osgi.service.component.annotations.Component;
 @Component(immediate = true, service = { ChannelTypeProvider.class, FileChannelTypeProvider.class })
 public class FileChannelTypeProvider implements ChannelTypeProvider {
 
-    // All access must be guarded by "this"
-    private final Map<Path, Set<ChannelType>> referenceMap = new HashMap<>();
+    private final FileTypeStore store;
+    private final FileTypeLocalizer localizer;
 
-    // All access must be guarded by "this"
-    private final Set<ChannelType> channelTypes = new HashSet<>();
-
-    /**
-     * Add the specified parsing result from the specified file.
-     *
-     * @param path the file from which the parsing result originates.
-     * @param xmlResult the parsing result to add.
-     */
-    public void add(Path path, ChannelTypeXmlResult xmlResult) {
-        ChannelType channelType = xmlResult.toChannelType();
-        synchronized (this) {
-            Set<ChannelType> pathSet = Objects.requireNonNull(referenceMap.computeIfAbsent(path, p -> new HashSet<ChannelType>()));
-            pathSet.add(channelType);
-            channelTypes.add(channelType);
-        }
-    }
-
-    /**
-     * Remove all parsing results associated with the specified file.
-     *
-     * @param path the file whose parsing results to remove.
-     */
-    public synchronized void remove(Path path) {
-        Set<ChannelType> toRemove = referenceMap.remove(path);
-        if (toRemove != null) {
-            channelTypes.removeAll(toRemove);
-        }
+    @Activate
+    public FileChannelTypeProvider(@Reference FileTypeStore store, @Reference FileTypeLocalizer localizer) {
+        this.store = store;
+        this.localizer = localizer;
     }
 
     @Override
-    public synchronized Collection<ChannelType> getChannelTypes(@Nullable Locale locale) {
-        return Set.copyOf(channelTypes);
+    public Collection<ChannelType> getChannelTypes(@Nullable Locale locale) {
+        return localizer.localizeChannelTypes(store.getSnapshot(), locale);
     }
 
     @Override
-    public synchronized @Nullable ChannelType getChannelType(ChannelTypeUID channelTypeUID, @Nullable Locale locale) {
-        for (ChannelType channelType : channelTypes) {
-            if (channelTypeUID.equals(channelType.getUID())) {
-                return channelType;
-            }
-        }
-        return null;
+    public @Nullable ChannelType getChannelType(ChannelTypeUID channelTypeUID, @Nullable Locale locale) {
+        // Most lookups are for types from bindings that have no types here, which have no shard
+        ChannelType channelType = store.getSnapshot().getChannelType(channelTypeUID);
+        return channelType == null ? null : localizer.localize(channelType, locale);
     }
 }
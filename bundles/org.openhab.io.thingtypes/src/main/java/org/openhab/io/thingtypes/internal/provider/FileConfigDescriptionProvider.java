@@ -0,0 +1,51 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Locale;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.ConfigDescriptionProvider;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Provides the {@link ConfigDescription}s defined inline in the types parsed from files, as held by the
+ * {@link FileTypeStore}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@Component(immediate = true, service = { ConfigDescriptionProvider.class, FileConfigDescriptionProvider.class })
+public class FileConfigDescriptionProvider implements ConfigDescriptionProvider {
+
+    private final FileTypeStore store;
+
+    @Activate
+    public FileConfigDescriptionProvider(@Reference FileTypeStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Collection<ConfigDescription> getConfigDescriptions(@Nullable Locale locale) {
+        return store.getSnapshot().getConfigDescriptions();
+    }
+
+    @Override
+    public @Nullable ConfigDescription getConfigDescription(URI uri, @Nullable Locale locale) {
+        return store.getSnapshot().getConfigDescription(uri);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.thing.type.ThingType;
+
+/**
+ * All the definitions that originate from one file.
+ *
+ * @param thingTypes the {@link ThingType} definitions, which might not have been created yet.
+ * @param channelTypes the {@link ChannelType} definitions.
+ * @param channelGroupTypes the {@link ChannelGroupType} definitions.
+ * @param configDescriptions the inline {@link ConfigDescription} definitions of the types.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public record FileDefinitions(Map<ThingTypeUID, Definition<LazyThingType>> thingTypes,
+        Map<ChannelTypeUID, Definition<ChannelType>> channelTypes,
+        Map<ChannelGroupTypeUID, Definition<ChannelGroupType>> channelGroupTypes,
+        Map<URI, Definition<ConfigDescription>> configDescriptions) {
+
+    /** An instance without any definitions */
+    public static final FileDefinitions EMPTY = new FileDefinitions(Map.of(), Map.of(), Map.of(), Map.of());
+
+    /**
+     * @return {@code true} if there are no definitions, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return thingTypes.isEmpty() && channelTypes.isEmpty() && channelGroupTypes.isEmpty() &&
+            configDescriptions.isEmpty();
+    }
+
+    /**
+     * A single type definition together with a fingerprint of the content it was created from, which is used to
+     * decide if a type must be recreated when the file changes.
+     *
+     * @param <T> the type.
+     * @param type the type instance.
+     * @param fingerprint the content fingerprint or {@code null} if it wasn't computed because there was nothing to
+     *            compare with. Such a definition is always recreated when the file changes.
+     */
+    public record Definition<T>(T type, @Nullable String fingerprint) {
+    }
+}
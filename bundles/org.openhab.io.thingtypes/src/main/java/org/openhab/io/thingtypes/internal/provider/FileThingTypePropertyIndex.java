@@ -0,0 +1,48 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.io.thingtypes.ThingTypePropertyIndex;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+/**
+ * Provides the {@link ThingTypePropertyIndex} for the types held by the {@link FileTypeStore}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = ThingTypePropertyIndex.class)
+public class FileThingTypePropertyIndex implements ThingTypePropertyIndex {
+
+    private final FileTypeStore store;
+
+    @Activate
+    public FileThingTypePropertyIndex(@Reference FileTypeStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Set<ThingTypeUID> getThingTypeUIDs(String name, String value) {
+        return store.getSnapshot().propertyIndex().get(name, value);
+    }
+
+    @Override
+    public Set<ThingTypeUID> getThingTypeUIDs(Map<String, String> properties) {
+        return store.getSnapshot().propertyIndex().get(properties);
+    }
+}
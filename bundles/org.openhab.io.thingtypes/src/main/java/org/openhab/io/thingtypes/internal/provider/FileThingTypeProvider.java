@@ -10,29 +10,21 @@
  */
 package org.openhab.io.thingtypes.internal.provider;
 
-import java.nio.file.Path;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Locale;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.thing.ThingTypeUID;
 import org.openhab.core.thing.binding.ThingTypeProvider;
 import org.openhab.core.thing.type.ThingType;
-import org.openhab.io.thingtypes.internal.copied.ThingTypeXmlResult;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import com.thoughtworks.xstream.converters.ConversionException;
+import org.osgi.service.component.annotations.Reference;
 
 /**
- * Provides {@link ThingType}s parsed from files.
+ * Provides {@link ThingType}s parsed from files, as held by the {@link FileTypeStore}, translated by the
+ * {@link FileTypeLocalizer}.
  *
  * @author Ravi Nadahar - Initial contribution
  */
@@ -40,60 +32,35 @@ import com.thoughtworks.xstream.converters.ConversionException;
 @Component(immediate = true, service = { ThingTypeProvider.class, FileThingTypeProvider.class })
 public class FileThingTypeProvider implements ThingTypeProvider {
 
-    private final Logger logger = LoggerFactory.getLogger(FileThingTypeProvider.class);
-
-    // All access must be guarded by "this"
-    private final Map<Path, Set<ThingType>> referenceMap = new HashMap<>();
+    private final FileTypeStore store;
+    private final FileTypeLocalizer localizer;
 
-    // All access must be guarded by "this"
-    private final Set<ThingType> thingTypes = new HashSet<>();
+    @Activate
+    public FileThingTypeProvider(@Reference FileTypeStore store, @Reference FileTypeLocalizer localizer) {
+        this.store = store;
+        this.localizer = localizer;
+    }
 
-    /**
-     * Add the specified parsing result from the specified file.
-     *
-     * @param path the file from which the parsing result originates.
-     * @param xmlResult the parsing result to add.
-     */
-    public void add(Path path, ThingTypeXmlResult xmlResult) {
-        ThingType thingType;
-        try {
-            thingType = xmlResult.toThingType();
-        } catch (ConversionException e) {
-            logger.warn("Failed to create ThingType from \"{}\": {}", path.toAbsolutePath(), e.getMessage());
-            logger.trace("", e);
-            return;
-        }
-        synchronized (this) {
-            Set<ThingType> pathSet = Objects.requireNonNull(referenceMap.computeIfAbsent(path, p -> new HashSet<ThingType>()));
-            pathSet.add(thingType);
-            thingTypes.add(thingType);
-        }
+    @Override
+    public Collection<ThingType> getThingTypes(@Nullable Locale locale) {
+        return localizer.localizeThingTypes(store.getSnapshot(), null, locale);
     }
 
     /**
-     * Remove all parsing results associated with the specified file.
+     * Returns the {@link ThingType}s of the specified binding, without visiting the types of other bindings.
      *
-     * @param path the file whose parsing results to remove.
+     * @param bindingId the binding ID.
+     * @param locale the {@link Locale} to translate to.
+     * @return The {@link Collection} of {@link ThingType}s, empty if there are none.
      */
-    public synchronized void remove(Path path) {
-        Set<ThingType> toRemove = referenceMap.remove(path);
-        if (toRemove != null) {
-            thingTypes.removeAll(toRemove);
-        }
-    }
-
-    @Override
-    public synchronized Collection<ThingType> getThingTypes(@Nullable Locale locale) {
-        return Set.copyOf(thingTypes);
+    public Collection<ThingType> getThingTypes(String bindingId, @Nullable Locale locale) {
+        return localizer.localizeThingTypes(store.getSnapshot(), bindingId, locale);
     }
 
     @Override
-    public synchronized @Nullable ThingType getThingType(ThingTypeUID thingTypeUID, @Nullable Locale locale) {
-        for (ThingType thingType : thingTypes) {
-            if (thingTypeUID.equals(thingType.getUID())) {
-                return thingType;
-            }
-        }
-        return null;
+    public @Nullable ThingType getThingType(ThingTypeUID thingTypeUID, @Nullable Locale locale) {
+        // Most lookups are for types from bindings that have no types here, which have no shard
+        LazyThingType thingType = store.getSnapshot().getLazyThingType(thingTypeUID);
+        return thingType == null ? null : localizer.localize(thingType, locale);
     }
 }
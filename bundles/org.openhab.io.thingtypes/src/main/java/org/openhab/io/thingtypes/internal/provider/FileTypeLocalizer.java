@@ -0,0 +1,674 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.UID;
+import org.openhab.core.thing.type.AutoUpdatePolicy;
+import org.openhab.core.thing.type.BridgeType;
+import org.openhab.core.thing.type.ChannelDefinition;
+import org.openhab.core.thing.type.ChannelDefinitionBuilder;
+import org.openhab.core.thing.type.ChannelGroupDefinition;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeBuilder;
+import org.openhab.core.thing.type.ChannelKind;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeBuilder;
+import org.openhab.core.thing.type.StateChannelTypeBuilder;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.core.thing.type.ThingTypeBuilder;
+import org.openhab.core.thing.type.TriggerChannelTypeBuilder;
+import org.openhab.core.types.CommandDescription;
+import org.openhab.core.types.CommandDescriptionBuilder;
+import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.EventDescription;
+import org.openhab.core.types.EventOption;
+import org.openhab.core.types.StateDescription;
+import org.openhab.core.types.StateDescriptionFragmentBuilder;
+import org.openhab.core.types.StateOption;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Shard;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Snapshot;
+import org.openhab.io.thingtypes.internal.util.ThingTypesUtil;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Translates the types provided by this add-on using translation files placed next to the XML files, named
+ * {@code <name>_<language>.properties} or {@code <name>_<language>_<country>.properties}.
+ * <p>
+ * The translation keys are the same as those used by openHAB for bindings, for example
+ * {@code thing-type.<bindingId>.<thingTypeId>.label} or
+ * {@code channel-type.<bindingId>.<channelTypeId>.state.option.<value>}. Since the keys contain the binding ID and
+ * the type ID, the entries from all translation files for a language are merged. If more than one file has the same key,
+ * the file that comes last in path order wins.
+ * <p>
+ * Translated types are created when requested and kept in a bounded cache by UID and {@link Locale}. A cache entry is
+ * invalidated when the type is replaced, or when a translation file with keys for the type's binding changes. Thing
+ * types that the {@link ThingTypeLimiter} can evict are translated on every request instead, since the cache would
+ * otherwise keep them in memory.
+ * Requests for all types are answered from a separate cache of translated collections per binding and {@link Locale},
+ * which is invalidated when the {@link Shard} of the binding is replaced or its translations change, so that they
+ * don't evict the single types.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = FileTypeLocalizer.class)
+public class FileTypeLocalizer {
+
+    /** The maximum number of translated types to keep */
+    public static final int MAX_CACHE_SIZE = 2000;
+
+    private static final String TEXT_REFERENCE_PREFIX = "@text/";
+
+    // All access must be guarded by "this". Sorted, so that the files in a directory can be found quickly.
+    private final NavigableMap<Path, TranslationFile> files = new TreeMap<>();
+
+    private final Map<Locale, Map<String, String>> translations = new ConcurrentHashMap<>();
+    private final Map<ShardCacheKey, ShardCacheEntry> shardCache = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> generations = new ConcurrentHashMap<>();
+
+    // All access must be guarded by "cache"
+    private final Map<CacheKey, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(@Nullable Entry<CacheKey, CacheEntry> eldest) {
+            return size() > MAX_CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Replaces the entries of a translation file. Nothing is invalidated if the entries are unchanged.
+     *
+     * @param file the translation file.
+     * @param locale the {@link Locale} of the translations.
+     * @param entries the translations by key.
+     */
+    public synchronized void replaceTranslations(Path file, Locale locale, Map<String, String> entries) {
+        TranslationFile translationFile = new TranslationFile(locale, Map.copyOf(entries));
+        TranslationFile previous = files.put(file, translationFile);
+        if (translationFile.equals(previous)) {
+            return;
+        }
+        Map<Locale, Set<String>> rebuild = new HashMap<>();
+        Set<String> bindingIds = new HashSet<>();
+        if (previous != null) {
+            // The entries of the previous version might have replaced those of other files
+            addBindingIds(previous, rebuild);
+            addBindingIds(translationFile, rebuild);
+        } else {
+            // A new file only requires a rebuild of the bindings where it has keys that other files have too
+            Map<String, String> target = translations.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+            for (Entry<String, String> entry : translationFile.entries().entrySet()) {
+                String bindingId = getBindingId(entry.getKey());
+                bindingIds.add(bindingId);
+                if (target.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                    rebuild.computeIfAbsent(locale, l -> new HashSet<>()).add(bindingId);
+                }
+            }
+            if (target.isEmpty()) {
+                translations.remove(locale);
+            }
+        }
+        rebuild(rebuild, bindingIds);
+        invalidate(bindingIds);
+    }
+
+    /**
+     * Removes the entries of a translation file.
+     *
+     * @param file the translation file.
+     */
+    public synchronized void removeTranslations(Path file) {
+        Map<Locale, Set<String>> rebuild = new HashMap<>();
+        addBindingIds(files.remove(file), rebuild);
+        Set<String> bindingIds = new HashSet<>();
+        rebuild(rebuild, bindingIds);
+        invalidate(bindingIds);
+    }
+
+    /**
+     * Returns the translation files whose entries are currently registered in the specified directory and its
+     * subdirectories.
+     *
+     * @param directory the directory.
+     * @return The {@link List} of translation files.
+     */
+    public synchronized List<Path> getTranslationFiles(Path directory) {
+        return ThingTypesUtil.getPathsIn(files, directory);
+    }
+
+    /**
+     * Removes the entries of all translation files in the specified directory and its subdirectories.
+     *
+     * @param directory the directory whose translation files to remove.
+     */
+    public synchronized void removeTranslationDirectory(Path directory) {
+        Map<Locale, Set<String>> rebuild = new HashMap<>();
+        for (Path file : ThingTypesUtil.getPathsIn(files, directory)) {
+            addBindingIds(files.remove(file), rebuild);
+        }
+        Set<String> bindingIds = new HashSet<>();
+        rebuild(rebuild, bindingIds);
+        invalidate(bindingIds);
+    }
+
+    /**
+     * Removes the entries of all translation files except the specified files.
+     *
+     * @param paths the translation files whose entries to keep.
+     */
+    public synchronized void retainTranslations(Collection<Path> paths) {
+        Set<Path> keep = paths instanceof Set<Path> set ? set : new HashSet<>(paths);
+        Map<Locale, Set<String>> rebuild = new HashMap<>();
+        for (Iterator<Entry<Path, TranslationFile>> iterator = files.entrySet().iterator(); iterator.hasNext();) {
+            Entry<Path, TranslationFile> entry = iterator.next();
+            if (!keep.contains(entry.getKey())) {
+                iterator.remove();
+                addBindingIds(entry.getValue(), rebuild);
+            }
+        }
+        Set<String> bindingIds = new HashSet<>();
+        rebuild(rebuild, bindingIds);
+        invalidate(bindingIds);
+    }
+
+    /**
+     * Evaluates if there are any translations for the specified {@link Locale}.
+     *
+     * @param locale the {@link Locale}.
+     * @return {@code true} if there are translations, {@code false} otherwise.
+     */
+    public boolean hasTranslations(@Nullable Locale locale) {
+        if (locale == null || translations.isEmpty()) {
+            return false;
+        }
+        for (Locale candidate : candidates(locale)) {
+            Map<String, String> entries = translations.get(candidate);
+            if (entries != null && !entries.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the translated version of the specified {@link ThingType}.
+     *
+     * @param thingType the {@link ThingType} to translate.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ThingType}, or {@code thingType} if there are no translations for the
+     *         {@link Locale}.
+     */
+    public ThingType localize(ThingType thingType, @Nullable Locale locale) {
+        return locale == null || !hasTranslations(locale) ? thingType :
+            cached(thingType.getUID(), locale, thingType, this::translate);
+    }
+
+    /**
+     * Returns the translated version of the {@link ThingType} held by the specified {@link LazyThingType}, creating
+     * it if needed. Limited types aren't cached, so that the translated and untranslated types aren't kept in memory
+     * after the {@link ThingTypeLimiter} has evicted them.
+     *
+     * @param thingType the {@link LazyThingType} holding the {@link ThingType} to translate.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ThingType}, the untranslated {@link ThingType} if there are no translations for
+     *         the {@link Locale}, or {@code null} if it couldn't be created.
+     */
+    public @Nullable ThingType localize(LazyThingType thingType, @Nullable Locale locale) {
+        ThingType result = thingType.get();
+        if (result == null || locale == null || !hasTranslations(locale)) {
+            return result;
+        }
+        return thingType.isLimited() ? translate(result, key -> getText(key, locale)) :
+            cached(result.getUID(), locale, result, this::translate);
+    }
+
+    /**
+     * Returns the translated version of the specified {@link ChannelType}.
+     *
+     * @param channelType the {@link ChannelType} to translate.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ChannelType}, or {@code channelType} if there are no translations for the
+     *         {@link Locale}.
+     */
+    public ChannelType localize(ChannelType channelType, @Nullable Locale locale) {
+        return locale == null || !hasTranslations(locale) ? channelType :
+            cached(channelType.getUID(), locale, channelType, this::translate);
+    }
+
+    /**
+     * Returns the translated version of the specified {@link ChannelGroupType}.
+     *
+     * @param channelGroupType the {@link ChannelGroupType} to translate.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ChannelGroupType}, or {@code channelGroupType} if there are no translations for
+     *         the {@link Locale}.
+     */
+    public ChannelGroupType localize(ChannelGroupType channelGroupType, @Nullable Locale locale) {
+        return locale == null || !hasTranslations(locale) ? channelGroupType :
+            cached(channelGroupType.getUID(), locale, channelGroupType, this::translate);
+    }
+
+    /**
+     * Returns the translated {@link ThingType}s of a {@link Snapshot}.
+     *
+     * @param snapshot the {@link Snapshot}.
+     * @param bindingId the binding ID whose types to return, or {@code null} to return the types of all bindings.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ThingType}s, or the untranslated types if there are no translations for the
+     *         {@link Locale}.
+     */
+    public Collection<ThingType> localizeThingTypes(Snapshot snapshot, @Nullable String bindingId,
+            @Nullable Locale locale) {
+        if (locale == null || !hasTranslations(locale)) {
+            return bindingId == null ? snapshot.getThingTypes() : snapshot.getThingTypes(bindingId);
+        }
+        return localizeShards(snapshot, bindingId, locale, Kind.THING_TYPES, FileTypeLocalizer::getThingTypes,
+            this::translate);
+    }
+
+    /**
+     * Returns the translated {@link ChannelType}s of all bindings in a {@link Snapshot}.
+     *
+     * @param snapshot the {@link Snapshot}.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ChannelType}s, or the untranslated types if there are no translations for the
+     *         {@link Locale}.
+     */
+    public Collection<ChannelType> localizeChannelTypes(Snapshot snapshot, @Nullable Locale locale) {
+        if (locale == null || !hasTranslations(locale)) {
+            return snapshot.getChannelTypes();
+        }
+        return localizeShards(snapshot, null, locale, Kind.CHANNEL_TYPES, shard -> shard.channelTypes().values(),
+            this::translate);
+    }
+
+    /**
+     * Returns the translated {@link ChannelGroupType}s of all bindings in a {@link Snapshot}.
+     *
+     * @param snapshot the {@link Snapshot}.
+     * @param locale the {@link Locale} to translate to.
+     * @return The translated {@link ChannelGroupType}s, or the untranslated types if there are no translations for
+     *         the {@link Locale}.
+     */
+    public Collection<ChannelGroupType> localizeChannelGroupTypes(Snapshot snapshot, @Nullable Locale locale) {
+        if (locale == null || !hasTranslations(locale)) {
+            return snapshot.getChannelGroupTypes();
+        }
+        return localizeShards(snapshot, null, locale, Kind.CHANNEL_GROUP_TYPES,
+            shard -> shard.channelGroupTypes().values(), this::translate);
+    }
+
+    private <T> Collection<T> localizeShards(Snapshot snapshot, @Nullable String bindingId, Locale locale, Kind kind,
+            Function<Shard, Collection<T>> accessor, TranslateFunction<T> translator) {
+        Map<String, Shard> shards = snapshot.shards();
+        if (bindingId != null) {
+            Shard shard = shards.get(bindingId);
+            return shard == null ? List.of() : localizeShard(bindingId, shard, locale, kind, accessor, translator);
+        }
+        // Drop the collections of bindings that no longer have any types
+        shardCache.keySet().removeIf(key -> key.kind() == kind && !shards.containsKey(key.bindingId()));
+        List<T> result = new ArrayList<>();
+        for (Entry<String, Shard> entry : shards.entrySet()) {
+            result.addAll(localizeShard(entry.getKey(), entry.getValue(), locale, kind, accessor, translator));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> localizeShard(String bindingId, Shard shard, Locale locale, Kind kind,
+            Function<Shard, Collection<T>> accessor, TranslateFunction<T> translator) {
+        ShardCacheKey cacheKey = new ShardCacheKey(kind, bindingId, locale);
+        int generation = getGeneration(bindingId);
+        ShardCacheEntry entry = shardCache.get(cacheKey);
+        if (entry != null && entry.shard() == shard && entry.generation() == generation) {
+            return (List<T>) entry.localized();
+        }
+        Collection<T> types = accessor.apply(shard);
+        List<T> result = new ArrayList<>(types.size());
+        for (T type : types) {
+            result.add(translator.translate(type, key -> getText(key, locale)));
+        }
+        result = Collections.unmodifiableList(result);
+        // Thing types that can be evicted must not be kept here
+        if (kind != Kind.THING_TYPES || !isLimited(shard)) {
+            shardCache.put(cacheKey, new ShardCacheEntry(shard, generation, result));
+        }
+        return result;
+    }
+
+    private static Collection<ThingType> getThingTypes(Shard shard) {
+        return Snapshot.materialize(shard.thingTypes().values(), new ArrayList<>());
+    }
+
+    private static boolean isLimited(Shard shard) {
+        for (LazyThingType thingType : shard.thingTypes().values()) {
+            if (thingType.isLimited()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(UID uid, Locale locale, T source, TranslateFunction<T> translator) {
+        CacheKey cacheKey = new CacheKey(uid, locale);
+        int generation = getGeneration(uid.getBindingId());
+        synchronized (cache) {
+            CacheEntry entry = cache.get(cacheKey);
+            if (entry != null && entry.source() == source && entry.generation() == generation) {
+                return (T) entry.localized();
+            }
+        }
+        T result = translator.translate(source, key -> getText(key, locale));
+        synchronized (cache) {
+            cache.put(cacheKey, new CacheEntry(source, generation, result));
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface TranslateFunction<T> {
+        T translate(T source, Function<String, @Nullable String> lookup);
+    }
+
+    private ThingType translate(ThingType thingType, Function<String, @Nullable String> lookup) {
+        ThingTypeUID uid = thingType.getUID();
+        String prefix = "thing-type." + uid.getBindingId() + '.' + uid.getId() + '.';
+        List<ChannelDefinition> channelDefinitions = new ArrayList<>();
+        for (ChannelDefinition channelDefinition : thingType.getChannelDefinitions()) {
+            channelDefinitions.add(translate(channelDefinition, prefix + "channel." + channelDefinition.getId() + '.',
+                lookup));
+        }
+        List<ChannelGroupDefinition> channelGroupDefinitions = new ArrayList<>();
+        for (ChannelGroupDefinition group : thingType.getChannelGroupDefinitions()) {
+            String groupPrefix = prefix + "group." + group.getId() + '.';
+            channelGroupDefinitions.add(new ChannelGroupDefinition(group.getId(), group.getTypeUID(),
+                text(lookup, groupPrefix + "label", group.getLabel()),
+                text(lookup, groupPrefix + "description", group.getDescription())));
+        }
+        ThingTypeBuilder builder = ThingTypeBuilder.instance(thingType)
+            .withLabel(label(lookup, prefix + "label", thingType.getLabel()))
+            .withChannelDefinitions(channelDefinitions).withChannelGroupDefinitions(channelGroupDefinitions);
+        String description = text(lookup, prefix + "description", thingType.getDescription());
+        if (description != null) {
+            builder.withDescription(description);
+        }
+        return thingType instanceof BridgeType ? builder.buildBridge() : builder.build();
+    }
+
+    private ChannelType translate(ChannelType channelType, Function<String, @Nullable String> lookup) {
+        UID uid = channelType.getUID();
+        String prefix = "channel-type." + uid.getBindingId() + '.' + uid.getId() + '.';
+        String label = label(lookup, prefix + "label", channelType.getLabel());
+        final ChannelTypeBuilder<?> builder;
+        if (channelType.getKind() == ChannelKind.TRIGGER) {
+            TriggerChannelTypeBuilder triggerBuilder = ChannelTypeBuilder.trigger(channelType.getUID(), label);
+            EventDescription event = channelType.getEvent();
+            if (event != null) {
+                List<EventOption> options = new ArrayList<>();
+                for (EventOption option : event.getOptions()) {
+                    options.add(new EventOption(option.getValue(),
+                        text(lookup, prefix + "event.option." + option.getValue(), option.getLabel())));
+                }
+                triggerBuilder.withEventDescription(new EventDescription(options));
+            }
+            builder = triggerBuilder;
+        } else {
+            String itemType = channelType.getItemType();
+            StateChannelTypeBuilder stateBuilder = ChannelTypeBuilder
+                .state(channelType.getUID(), label, itemType == null ? "" : itemType)
+                .withUnitHint(channelType.getUnitHint());
+            AutoUpdatePolicy autoUpdatePolicy = channelType.getAutoUpdatePolicy();
+            if (autoUpdatePolicy != null) {
+                stateBuilder.withAutoUpdatePolicy(autoUpdatePolicy);
+            }
+            StateDescription state = channelType.getState();
+            if (state != null) {
+                StateDescriptionFragmentBuilder stateDescription = StateDescriptionFragmentBuilder.create(state);
+                String pattern = text(lookup, prefix + "state.pattern", state.getPattern());
+                if (pattern != null) {
+                    stateDescription.withPattern(pattern);
+                }
+                List<StateOption> options = new ArrayList<>();
+                for (StateOption option : state.getOptions()) {
+                    options.add(new StateOption(option.getValue(),
+                        text(lookup, prefix + "state.option." + option.getValue(), option.getLabel())));
+                }
+                stateBuilder.withStateDescriptionFragment(stateDescription.withOptions(options).build());
+            }
+            CommandDescription command = channelType.getCommandDescription();
+            if (command != null) {
+                List<CommandOption> options = new ArrayList<>();
+                for (CommandOption option : command.getCommandOptions()) {
+                    options.add(new CommandOption(option.getCommand(),
+                        text(lookup, prefix + "command.option." + option.getCommand(), option.getLabel())));
+                }
+                stateBuilder.withCommandDescription(CommandDescriptionBuilder.create().withCommandOptions(options)
+                    .build());
+            }
+            builder = stateBuilder;
+        }
+        builder.isAdvanced(channelType.isAdvanced()).withTags(channelType.getTags());
+        URI configDescriptionURI = channelType.getConfigDescriptionURI();
+        if (configDescriptionURI != null) {
+            builder.withConfigDescriptionURI(configDescriptionURI);
+        }
+        String category = channelType.getCategory();
+        if (category != null) {
+            builder.withCategory(category);
+        }
+        String description = text(lookup, prefix + "description", channelType.getDescription());
+        if (description != null) {
+            builder.withDescription(description);
+        }
+        return builder.build();
+    }
+
+    private ChannelGroupType translate(ChannelGroupType channelGroupType, Function<String, @Nullable String> lookup) {
+        UID uid = channelGroupType.getUID();
+        String prefix = "channel-group-type." + uid.getBindingId() + '.' + uid.getId() + '.';
+        List<ChannelDefinition> channelDefinitions = new ArrayList<>();
+        for (ChannelDefinition channelDefinition : channelGroupType.getChannelDefinitions()) {
+            channelDefinitions.add(translate(channelDefinition, prefix + "channel." + channelDefinition.getId() + '.',
+                lookup));
+        }
+        ChannelGroupTypeBuilder builder = ChannelGroupTypeBuilder
+            .instance(channelGroupType.getUID(), label(lookup, prefix + "label", channelGroupType.getLabel()))
+            .withChannelDefinitions(channelDefinitions);
+        String description = text(lookup, prefix + "description", channelGroupType.getDescription());
+        if (description != null) {
+            builder.withDescription(description);
+        }
+        String category = channelGroupType.getCategory();
+        if (category != null) {
+            builder.withCategory(category);
+        }
+        return builder.build();
+    }
+
+    private ChannelDefinition translate(ChannelDefinition channelDefinition, String prefix,
+            Function<String, @Nullable String> lookup) {
+        String label = text(lookup, prefix + "label", channelDefinition.getLabel());
+        String description = text(lookup, prefix + "description", channelDefinition.getDescription());
+        if (label == null && description == null) {
+            return channelDefinition;
+        }
+        ChannelDefinitionBuilder builder = new ChannelDefinitionBuilder(channelDefinition);
+        if (label != null) {
+            builder.withLabel(label);
+        }
+        if (description != null) {
+            builder.withDescription(description);
+        }
+        return builder.build();
+    }
+
+    private static String label(Function<String, @Nullable String> lookup, String key, String original) {
+        String result = text(lookup, key, original);
+        return result == null ? original : result;
+    }
+
+    /**
+     * Looks up a translation, using the key referenced by {@code original} if it is a {@code @text/} reference.
+     *
+     * @return The translation, or {@code original} if there is none.
+     */
+    private static @Nullable String text(Function<String, @Nullable String> lookup, String key,
+            @Nullable String original) {
+        String result;
+        if (original != null && original.startsWith(TEXT_REFERENCE_PREFIX)) {
+            result = lookup.apply(original.substring(TEXT_REFERENCE_PREFIX.length()));
+        } else {
+            result = lookup.apply(key);
+        }
+        return result == null ? original : result;
+    }
+
+    private @Nullable String getText(String key, Locale locale) {
+        for (Locale candidate : candidates(locale)) {
+            Map<String, String> entries = translations.get(candidate);
+            String result = entries == null ? null : entries.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+        return null;
+    }
+
+    private static List<Locale> candidates(Locale locale) {
+        List<Locale> result = new ArrayList<>(3);
+        result.add(locale);
+        if (!locale.getVariant().isEmpty()) {
+            result.add(new Locale(locale.getLanguage(), locale.getCountry()));
+        }
+        if (!locale.getCountry().isEmpty()) {
+            result.add(new Locale(locale.getLanguage()));
+        }
+        return result;
+    }
+
+    private int getGeneration(String bindingId) {
+        AtomicInteger generation = generations.get(bindingId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    /**
+     * Adds the binding IDs of the keys of a translation file to {@code target}, by {@link Locale}.
+     */
+    private static void addBindingIds(@Nullable TranslationFile translationFile, Map<Locale, Set<String>> target) {
+        if (translationFile == null) {
+            return;
+        }
+        Set<String> bindingIds = target.computeIfAbsent(translationFile.locale(), l -> new HashSet<>());
+        for (String key : translationFile.entries().keySet()) {
+            bindingIds.add(getBindingId(key));
+        }
+    }
+
+    /**
+     * Returns the binding ID of a translation key.
+     *
+     * @param key the key.
+     * @return The binding ID, or an empty string if the key doesn't contain one.
+     */
+    private static String getBindingId(String key) {
+        // Keys are on the form "<type>.<bindingId>.<id>..."
+        int start = key.indexOf('.');
+        int end = start < 0 ? -1 : key.indexOf('.', start + 1);
+        return end > start + 1 ? key.substring(start + 1, end) : "";
+    }
+
+    /**
+     * Rebuilds the merged entries of the specified bindings from the registered translation files. Must be called
+     * while holding "this".
+     *
+     * @param rebuild the binding IDs to rebuild by {@link Locale}.
+     * @param bindingIds the {@link Set} to add the rebuilt binding IDs to.
+     */
+    private void rebuild(Map<Locale, Set<String>> rebuild, Set<String> bindingIds) {
+        for (Entry<Locale, Set<String>> entry : rebuild.entrySet()) {
+            Locale locale = entry.getKey();
+            Set<String> affected = entry.getValue();
+            Map<String, String> merged = new HashMap<>();
+            // In path order, so that the last file wins
+            for (TranslationFile translationFile : files.values()) {
+                if (locale.equals(translationFile.locale())) {
+                    for (Entry<String, String> translation : translationFile.entries().entrySet()) {
+                        if (affected.contains(getBindingId(translation.getKey()))) {
+                            merged.put(translation.getKey(), translation.getValue());
+                        }
+                    }
+                }
+            }
+            Map<String, String> target = translations.computeIfAbsent(locale, l -> new ConcurrentHashMap<>());
+            target.keySet().removeIf(key -> !merged.containsKey(key) && affected.contains(getBindingId(key)));
+            target.putAll(merged);
+            if (target.isEmpty()) {
+                translations.remove(locale);
+            }
+            bindingIds.addAll(affected);
+        }
+    }
+
+    private void invalidate(Set<String> bindingIds) {
+        for (String bindingId : bindingIds) {
+            generations.computeIfAbsent(bindingId, b -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private record TranslationFile(Locale locale, Map<String, String> entries) {
+    }
+
+    private record CacheKey(UID uid, Locale locale) {
+    }
+
+    private record CacheEntry(Object source, int generation, Object localized) {
+    }
+
+    private enum Kind {
+        THING_TYPES,
+        CHANNEL_TYPES,
+        CHANNEL_GROUP_TYPES
+    }
+
+    private record ShardCacheKey(Kind kind, String bindingId, Locale locale) {
+    }
+
+    private record ShardCacheEntry(Shard shard, int generation, List<?> localized) {
+    }
+}
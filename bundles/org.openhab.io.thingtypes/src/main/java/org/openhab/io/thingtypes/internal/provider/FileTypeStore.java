@@ -0,0 +1,730 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.provider.FileDefinitions.Definition;
+import org.openhab.io.thingtypes.internal.util.ThingTypesUtil;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Holds the definitions parsed from files, shared by {@link FileThingTypeProvider}, {@link FileChannelTypeProvider},
+ * {@link FileChannelGroupTypeProvider} and {@link FileConfigDescriptionProvider}.
+ * <p>
+ * All definitions are published together as one immutable {@link Snapshot}. Replacing the definitions of a file
+ * creates and publishes a new snapshot in one step, so lookups never lock and never see a partially applied file.
+ * Types that are unchanged keep their identity.
+ * <p>
+ * The snapshot is split into immutable {@link Shard}s by binding ID. A change only copies the shards it affects, so
+ * reloading the files of one binding doesn't have to copy the types of other bindings, and a lookup for a binding
+ * without any types is rejected without consulting any type map. The snapshot also holds a {@link PropertyIndex} of
+ * the thing types, which is updated incrementally in the same step.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@Component(service = FileTypeStore.class)
+public class FileTypeStore {
+
+    // All access must be guarded by "this". Sorted, so that the files in a directory can be found quickly.
+    private final NavigableMap<Path, FileDefinitions> files = new TreeMap<>();
+
+    // All access must be guarded by "this". The files that define each UID, so that another definition of a UID can
+    // take over without searching all files when a file stops defining it.
+    private final OwnerIndex<ThingTypeUID> thingTypeOwners = new OwnerIndex<>();
+    private final OwnerIndex<ChannelTypeUID> channelTypeOwners = new OwnerIndex<>();
+    private final OwnerIndex<ChannelGroupTypeUID> channelGroupTypeOwners = new OwnerIndex<>();
+    private final OwnerIndex<URI> configDescriptionOwners = new OwnerIndex<>();
+
+    // Must only be replaced while holding "this"
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private final ThingTypeLimiter limiter = new ThingTypeLimiter();
+
+    // Must only be replaced while holding "this". Volatile, so that the scan loops can check it without locking.
+    private volatile @Nullable Publisher publisher;
+
+    // Must only be replaced while holding "this"
+    private volatile @Nullable Rehydrator rehydrator;
+
+    /**
+     * @return The current {@link Snapshot}.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Creates a new {@link Publisher}, which makes any previous {@link Publisher} stale.
+     *
+     * @return The new {@link Publisher}.
+     */
+    public synchronized Publisher newPublisher() {
+        Publisher result = new Publisher();
+        publisher = result;
+        return result;
+    }
+
+    /**
+     * @return The {@link ThingTypeLimiter} that limits the number of thing types held in memory.
+     */
+    public ThingTypeLimiter getLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Sets the {@link Rehydrator} that creates evicted thing types again, replacing any previous {@link Rehydrator}.
+     *
+     * @param rehydrator the new {@link Rehydrator}.
+     */
+    public synchronized void setRehydrator(Rehydrator rehydrator) {
+        this.rehydrator = rehydrator;
+    }
+
+    /**
+     * Removes the specified {@link Rehydrator} unless it has already been replaced.
+     *
+     * @param rehydrator the {@link Rehydrator} to remove.
+     */
+    public synchronized void removeRehydrator(Rehydrator rehydrator) {
+        if (this.rehydrator == rehydrator) {
+            this.rehydrator = null;
+        }
+    }
+
+    /**
+     * Creates the {@link LazyThingType.Source} of limited {@link LazyThingType}s defined by the specified file, which
+     * creates the {@link ThingType}s using the {@link Rehydrator} that is current when it's read. The published types
+     * thus don't keep the component that created them, and use its replacement once it has been reactivated.
+     *
+     * @param path the file that defines the {@link ThingType}s.
+     * @return The new {@link LazyThingType.Source}.
+     */
+    public LazyThingType.Source newSource(Path path) {
+        return new FileSource(this, path);
+    }
+
+    /**
+     * Returns the definitions currently registered for the specified file.
+     *
+     * @param path the file.
+     * @return The {@link FileDefinitions} or {@code null} if there are none.
+     */
+    public synchronized @Nullable FileDefinitions get(Path path) {
+        return files.get(path);
+    }
+
+    /**
+     * Replaces the definitions for the specified file.
+     *
+     * @param path the file the definitions originate from.
+     * @param definitions the new definitions.
+     */
+    public void replace(Path path, FileDefinitions definitions) {
+        replaceAll(Map.of(path, definitions));
+    }
+
+    /**
+     * Replaces the definitions for several files in one operation.
+     *
+     * @param definitions the new definitions per file.
+     */
+    public synchronized void replaceAll(Map<Path, FileDefinitions> definitions) {
+        if (definitions.isEmpty()) {
+            return;
+        }
+        Snapshot current = snapshot;
+        Map<String, ShardBuilder> builders = new HashMap<>();
+        Function<String, ShardBuilder> builder = key -> builders.computeIfAbsent(key,
+            k -> new ShardBuilder(current.shards().get(k)));
+        Set<ThingTypeUID> changedThingTypes = new HashSet<>();
+        boolean changed = false;
+        for (Entry<Path, FileDefinitions> entry : definitions.entrySet()) {
+            FileDefinitions newDefinitions = entry.getValue();
+            FileDefinitions oldDefinitions = newDefinitions.isEmpty() ? files.remove(entry.getKey())
+                : files.put(entry.getKey(), newDefinitions);
+            if (oldDefinitions == null) {
+                oldDefinitions = FileDefinitions.EMPTY;
+            }
+            for (Entry<ThingTypeUID, Definition<LazyThingType>> old : oldDefinitions.thingTypes().entrySet()) {
+                Definition<LazyThingType> replacement = newDefinitions.thingTypes().get(old.getKey());
+                if (replacement == null || replacement.type() != old.getValue().type()) {
+                    limiter.remove(old.getValue().type());
+                }
+            }
+            Path path = entry.getKey();
+            changed |= apply(path, oldDefinitions.thingTypes(), newDefinitions.thingTypes(), thingTypeOwners,
+                FileDefinitions::thingTypes, uid -> builder.apply(uid.getBindingId()).thingTypes, changedThingTypes);
+            changed |= apply(path, oldDefinitions.channelTypes(), newDefinitions.channelTypes(), channelTypeOwners,
+                FileDefinitions::channelTypes, uid -> builder.apply(uid.getBindingId()).channelTypes, null);
+            changed |= apply(path, oldDefinitions.channelGroupTypes(), newDefinitions.channelGroupTypes(),
+                channelGroupTypeOwners, FileDefinitions::channelGroupTypes,
+                uid -> builder.apply(uid.getBindingId()).channelGroupTypes, null);
+            changed |= apply(path, oldDefinitions.configDescriptions(), newDefinitions.configDescriptions(),
+                configDescriptionOwners, FileDefinitions::configDescriptions,
+                uri -> builder.apply(Snapshot.shardKey(uri)).configDescriptions, null);
+        }
+        if (!changed) {
+            return;
+        }
+        Map<String, Shard> shards = new HashMap<>(current.shards());
+        for (Entry<String, ShardBuilder> entry : builders.entrySet()) {
+            ShardBuilder shardBuilder = entry.getValue();
+            if (shardBuilder.isEmpty()) {
+                shards.remove(entry.getKey());
+            } else {
+                shards.put(entry.getKey(), shardBuilder.build());
+            }
+        }
+        Snapshot updated = new Snapshot(Collections.unmodifiableMap(shards), current.propertyIndex());
+        snapshot = new Snapshot(updated.shards(),
+            current.propertyIndex().update(current::getThingTypeProperties, updated::getThingTypeProperties,
+                changedThingTypes));
+    }
+
+    /**
+     * Removes all definitions for the specified file.
+     *
+     * @param path the file whose definitions to remove.
+     */
+    public void remove(Path path) {
+        replace(path, FileDefinitions.EMPTY);
+    }
+
+    /**
+     * Removes the definitions for all files in the specified directory and its subdirectories in one operation.
+     *
+     * @param directory the directory whose definitions to remove.
+     * @return The {@link List} of files whose definitions were removed.
+     */
+    public synchronized List<Path> removeDirectory(Path directory) {
+        List<Path> paths = ThingTypesUtil.getPathsIn(files, directory);
+        Map<Path, FileDefinitions> toRemove = new HashMap<>();
+        for (Path path : paths) {
+            toRemove.put(path, FileDefinitions.EMPTY);
+        }
+        replaceAll(toRemove);
+        return paths;
+    }
+
+    /**
+     * Removes the definitions for all files except the specified files.
+     *
+     * @param paths the files whose definitions to keep.
+     */
+    public synchronized void retainAll(Collection<Path> paths) {
+        Set<Path> keep = paths instanceof Set<Path> set ? set : new HashSet<>(paths);
+        Map<Path, FileDefinitions> toRemove = new HashMap<>();
+        for (Path path : files.keySet()) {
+            if (!keep.contains(path)) {
+                toRemove.put(path, FileDefinitions.EMPTY);
+            }
+        }
+        replaceAll(toRemove);
+    }
+
+    /**
+     * Applies the changes from one file to the owner index and the working maps of the affected shards. Must be
+     * called while holding "this", after {@link #files} has been updated.
+     *
+     * @return {@code true} if a working map was modified, {@code false} otherwise.
+     */
+    private <K, V> boolean apply(Path path, Map<K, Definition<V>> oldDefinitions,
+            Map<K, Definition<V>> newDefinitions, OwnerIndex<K> owners,
+            Function<FileDefinitions, Map<K, Definition<V>>> accessor, Function<K, Map<K, V>> targets,
+            @Nullable Set<K> changedKeys) {
+        for (K uid : oldDefinitions.keySet()) {
+            if (!newDefinitions.containsKey(uid)) {
+                owners.remove(uid, path);
+            }
+        }
+        for (K uid : newDefinitions.keySet()) {
+            owners.add(uid, path);
+        }
+        boolean changed = false;
+        for (Entry<K, Definition<V>> entry : oldDefinitions.entrySet()) {
+            K uid = entry.getKey();
+            Map<K, V> target = targets.apply(uid);
+            if (!newDefinitions.containsKey(uid) && target.get(uid) == entry.getValue().type()) {
+                // Another file might define the same UID, let that definition take over
+                V replacement = null;
+                Path owner = owners.first(uid);
+                FileDefinitions other = owner == null ? null : files.get(owner);
+                if (other != null) {
+                    Definition<V> definition = accessor.apply(other).get(uid);
+                    if (definition != null) {
+                        replacement = definition.type();
+                    }
+                }
+                if (replacement == null) {
+                    target.remove(uid);
+                } else {
+                    target.put(uid, replacement);
+                }
+                if (changedKeys != null) {
+                    changedKeys.add(uid);
+                }
+                changed = true;
+            }
+        }
+        for (Entry<K, Definition<V>> entry : newDefinitions.entrySet()) {
+            V type = entry.getValue().type();
+            if (targets.apply(entry.getKey()).put(entry.getKey(), type) != type) {
+                if (changedKeys != null) {
+                    changedKeys.add(entry.getKey());
+                }
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Maps each UID to the files that define it. Almost every UID is defined by a single file, which is stored
+     * without a collection. Not thread-safe.
+     */
+    private static class OwnerIndex<K> {
+
+        // The value is either a Path or a NavigableSet<Path> with two or more elements
+        private final Map<K, Object> owners = new HashMap<>();
+
+        void add(K uid, Path path) {
+            Object current = owners.putIfAbsent(uid, path);
+            if (current == null || current.equals(path)) {
+                return;
+            }
+            if (current instanceof NavigableSet<?> set) {
+                @SuppressWarnings("unchecked")
+                NavigableSet<Path> paths = (NavigableSet<Path>) set;
+                paths.add(path);
+            } else {
+                NavigableSet<Path> paths = new TreeSet<>();
+                paths.add((Path) current);
+                paths.add(path);
+                owners.put(uid, paths);
+            }
+        }
+
+        void remove(K uid, Path path) {
+            Object current = owners.get(uid);
+            if (current instanceof NavigableSet<?> set) {
+                set.remove(path);
+                if (set.size() == 1) {
+                    owners.put(uid, set.first());
+                }
+            } else if (path.equals(current)) {
+                owners.remove(uid);
+            }
+        }
+
+        /**
+         * @return The first file, in path order, that defines the UID or {@code null} if there is none.
+         */
+        @Nullable Path first(K uid) {
+            Object current = owners.get(uid);
+            return current instanceof NavigableSet<?> set ? (Path) set.first() : (Path) current;
+        }
+    }
+
+    /**
+     * Creates thing types again from the files that define them, after the {@link ThingTypeLimiter} has evicted them.
+     */
+    @FunctionalInterface
+    public interface Rehydrator {
+
+        /**
+         * Reads the specified file again, and returns a factory for each {@link ThingType} it defines.
+         *
+         * @param path the file to read.
+         * @return The factories that create the {@link ThingType}s, by UID.
+         * @throws Exception If the file can't be read.
+         */
+        Map<ThingTypeUID, Callable<ThingType>> rehydrate(Path path) throws Exception;
+    }
+
+    /**
+     * A file as the {@link LazyThingType.Source} of limited {@link LazyThingType}s, which is read by the current
+     * {@link Rehydrator} of {@code store}.
+     *
+     * @param store the {@link FileTypeStore} holding the {@link LazyThingType}s.
+     * @param path the file.
+     */
+    private record FileSource(FileTypeStore store, Path path) implements LazyThingType.Source {
+
+        @Override
+        public Map<ThingTypeUID, Callable<ThingType>> read() throws Exception {
+            Rehydrator rehydrator = store.rehydrator;
+            if (rehydrator == null) {
+                throw new IllegalStateException("Thing type files aren't being processed");
+            }
+            return rehydrator.rehydrate(path);
+        }
+    }
+
+    /**
+     * A handle for modifying the definitions that stops working once a newer handle has been created or it has been
+     * closed. Work that was started for a previous activation can't overwrite the results of the current activation,
+     * since the check and the modification happen while holding the store's lock.
+     */
+    public class Publisher {
+
+        private Publisher() {
+        }
+
+        /**
+         * Checks if this is the current {@link Publisher} without locking. The modifications check again while
+         * holding the store's lock.
+         *
+         * @return {@code true} if this is the current {@link Publisher}, {@code false} if it's stale.
+         */
+        public boolean isCurrent() {
+            return publisher == this;
+        }
+
+        /**
+         * Replaces the definitions for the specified file if this {@link Publisher} is current.
+         *
+         * @param path the file the definitions originate from.
+         * @param definitions the new definitions.
+         * @return {@code true} if the definitions were replaced, {@code false} if this {@link Publisher} is stale.
+         */
+        public boolean replace(Path path, FileDefinitions definitions) {
+            return replaceAll(Map.of(path, definitions));
+        }
+
+        /**
+         * Replaces the definitions for several files in one operation if this {@link Publisher} is current.
+         *
+         * @param definitions the new definitions per file.
+         * @return {@code true} if the definitions were replaced, {@code false} if this {@link Publisher} is stale.
+         */
+        public boolean replaceAll(Map<Path, FileDefinitions> definitions) {
+            synchronized (FileTypeStore.this) {
+                if (publisher != this) {
+                    return false;
+                }
+                FileTypeStore.this.replaceAll(definitions);
+                return true;
+            }
+        }
+
+        /**
+         * Removes all definitions for the specified file if this {@link Publisher} is current.
+         *
+         * @param path the file whose definitions to remove.
+         * @return {@code true} if the definitions were removed, {@code false} if this {@link Publisher} is stale.
+         */
+        public boolean remove(Path path) {
+            return replace(path, FileDefinitions.EMPTY);
+        }
+
+        /**
+         * Removes the definitions for all files in the specified directory and its subdirectories in one operation
+         * if this {@link Publisher} is current.
+         *
+         * @param directory the directory whose definitions to remove.
+         * @return The {@link List} of files whose definitions were removed or {@code null} if this
+         *         {@link Publisher} is stale.
+         */
+        public @Nullable List<Path> removeDirectory(Path directory) {
+            synchronized (FileTypeStore.this) {
+                return publisher == this ? FileTypeStore.this.removeDirectory(directory) : null;
+            }
+        }
+
+        /**
+         * Removes the definitions for all files except the specified files if this {@link Publisher} is current.
+         *
+         * @param paths the files whose definitions to keep.
+         * @return {@code true} if the definitions were removed, {@code false} if this {@link Publisher} is stale.
+         */
+        public boolean retainAll(Collection<Path> paths) {
+            synchronized (FileTypeStore.this) {
+                if (publisher != this) {
+                    return false;
+                }
+                FileTypeStore.this.retainAll(paths);
+                return true;
+            }
+        }
+
+        /**
+         * Makes this {@link Publisher} stale.
+         */
+        public void close() {
+            synchronized (FileTypeStore.this) {
+                if (publisher == this) {
+                    publisher = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * An immutable view of all definitions at a given point in time.
+     *
+     * @param shards the {@link Shard}s by binding ID, only shards with definitions are present.
+     * @param propertyIndex the {@link PropertyIndex} of the thing types.
+     */
+    public record Snapshot(Map<String, Shard> shards, PropertyIndex propertyIndex) {
+
+        /** An empty snapshot */
+        public static final Snapshot EMPTY = new Snapshot(Map.of(), PropertyIndex.EMPTY);
+
+        /**
+         * Returns the shard key for a configuration description {@link URI}, which is the binding ID for the URIs
+         * generated for inline configuration descriptions, like {@code thing-type:binding:id}.
+         *
+         * @param uri the {@link URI}.
+         * @return The shard key.
+         */
+        public static String shardKey(URI uri) {
+            String part = uri.getSchemeSpecificPart();
+            int idx = part == null ? -1 : part.indexOf(':');
+            return idx > 0 ? part.substring(0, idx) : String.valueOf(uri.getScheme());
+        }
+
+        /**
+         * Returns the {@link ThingType} with the specified UID, creating it if it hasn't been requested before.
+         *
+         * @param uid the {@link ThingTypeUID}.
+         * @return The {@link ThingType} or {@code null}.
+         */
+        public @Nullable ThingType getThingType(ThingTypeUID uid) {
+            LazyThingType thingType = getLazyThingType(uid);
+            return thingType == null ? null : thingType.get();
+        }
+
+        /**
+         * Returns the {@link LazyThingType} with the specified UID, without creating the {@link ThingType}.
+         *
+         * @param uid the {@link ThingTypeUID}.
+         * @return The {@link LazyThingType} or {@code null}.
+         */
+        public @Nullable LazyThingType getLazyThingType(ThingTypeUID uid) {
+            Shard shard = shards.get(uid.getBindingId());
+            return shard == null ? null : shard.thingTypes().get(uid);
+        }
+
+        /**
+         * Returns the properties of the {@link ThingType} with the specified UID, without creating it.
+         *
+         * @param uid the {@link ThingTypeUID}.
+         * @return The properties or {@code null} if there is no such type.
+         */
+        public @Nullable Map<String, String> getThingTypeProperties(ThingTypeUID uid) {
+            LazyThingType thingType = getLazyThingType(uid);
+            return thingType == null ? null : thingType.getProperties();
+        }
+
+        public @Nullable ChannelType getChannelType(ChannelTypeUID uid) {
+            Shard shard = shards.get(uid.getBindingId());
+            return shard == null ? null : shard.channelTypes().get(uid);
+        }
+
+        public @Nullable ChannelGroupType getChannelGroupType(ChannelGroupTypeUID uid) {
+            Shard shard = shards.get(uid.getBindingId());
+            return shard == null ? null : shard.channelGroupTypes().get(uid);
+        }
+
+        public @Nullable ConfigDescription getConfigDescription(URI uri) {
+            Shard shard = shards.get(shardKey(uri));
+            return shard == null ? null : shard.configDescriptions().get(uri);
+        }
+
+        /**
+         * Returns the {@link ThingType}s of one binding, answered from a single shard. Types that haven't been
+         * requested before are created. Types that the {@link ThingTypeLimiter} has evicted are created for the result
+         * only, and aren't kept in memory.
+         *
+         * @param bindingId the binding ID.
+         * @return The {@link Collection} of {@link ThingType}s.
+         */
+        public Collection<ThingType> getThingTypes(String bindingId) {
+            Shard shard = shards.get(bindingId);
+            return shard == null ? List.of() : materialize(shard.thingTypes().values(), new ArrayList<>());
+        }
+
+        /**
+         * Returns all {@link ThingType}s. Types that haven't been requested before are created. Types that the
+         * {@link ThingTypeLimiter} has evicted are created for the result only, and aren't kept in memory.
+         *
+         * @return The {@link Collection} of {@link ThingType}s.
+         */
+        public Collection<ThingType> getThingTypes() {
+            List<ThingType> result = new ArrayList<>();
+            for (Shard shard : shards.values()) {
+                materialize(shard.thingTypes().values(), result);
+            }
+            return result;
+        }
+
+        /**
+         * Adds the {@link ThingType}s to {@code target} using {@link LazyThingType#getTransient(Map)}. A file only
+         * defines the types of one binding, so a file that defines several evicted types in {@code thingTypes} is
+         * only read once if {@code thingTypes} are the types of one binding.
+         *
+         * @param thingTypes the {@link LazyThingType}s.
+         * @param target the {@link List} to add to.
+         * @return {@code target}.
+         */
+        static List<ThingType> materialize(Collection<LazyThingType> thingTypes, List<ThingType> target) {
+            Map<LazyThingType.Source, Map<ThingTypeUID, Callable<ThingType>>> read = new HashMap<>();
+            for (LazyThingType lazyThingType : thingTypes) {
+                ThingType thingType = lazyThingType.getTransient(read);
+                if (thingType != null) {
+                    target.add(thingType);
+                }
+            }
+            return target;
+        }
+
+        public Collection<ChannelType> getChannelTypes() {
+            return new ShardValues<>(shards.values(), Shard::channelTypes);
+        }
+
+        public Collection<ChannelGroupType> getChannelGroupTypes() {
+            return new ShardValues<>(shards.values(), Shard::channelGroupTypes);
+        }
+
+        public Collection<ConfigDescription> getConfigDescriptions() {
+            return new ShardValues<>(shards.values(), Shard::configDescriptions);
+        }
+    }
+
+    /**
+     * The immutable definitions of one binding ID.
+     *
+     * @param thingTypes the {@link LazyThingType}s by UID.
+     * @param channelTypes the {@link ChannelType}s by UID.
+     * @param channelGroupTypes the {@link ChannelGroupType}s by UID.
+     * @param configDescriptions the {@link ConfigDescription}s by URI.
+     */
+    public record Shard(Map<ThingTypeUID, LazyThingType> thingTypes, Map<ChannelTypeUID, ChannelType> channelTypes,
+            Map<ChannelGroupTypeUID, ChannelGroupType> channelGroupTypes,
+            Map<URI, ConfigDescription> configDescriptions) {
+    }
+
+    /**
+     * A mutable copy of a {@link Shard} used while applying changes.
+     */
+    private static class ShardBuilder {
+
+        final Map<ThingTypeUID, LazyThingType> thingTypes;
+        final Map<ChannelTypeUID, ChannelType> channelTypes;
+        final Map<ChannelGroupTypeUID, ChannelGroupType> channelGroupTypes;
+        final Map<URI, ConfigDescription> configDescriptions;
+
+        ShardBuilder(@Nullable Shard base) {
+            if (base == null) {
+                thingTypes = new HashMap<>();
+                channelTypes = new HashMap<>();
+                channelGroupTypes = new HashMap<>();
+                configDescriptions = new HashMap<>();
+            } else {
+                thingTypes = new HashMap<>(base.thingTypes());
+                channelTypes = new HashMap<>(base.channelTypes());
+                channelGroupTypes = new HashMap<>(base.channelGroupTypes());
+                configDescriptions = new HashMap<>(base.configDescriptions());
+            }
+        }
+
+        boolean isEmpty() {
+            return thingTypes.isEmpty() && channelTypes.isEmpty() && channelGroupTypes.isEmpty() &&
+                configDescriptions.isEmpty();
+        }
+
+        Shard build() {
+            return new Shard(Collections.unmodifiableMap(thingTypes), Collections.unmodifiableMap(channelTypes),
+                Collections.unmodifiableMap(channelGroupTypes), Collections.unmodifiableMap(configDescriptions));
+        }
+    }
+
+    /**
+     * An unmodifiable {@link Collection} view of the values of one type of map across all {@link Shard}s.
+     */
+    private static class ShardValues<V> extends AbstractCollection<V> {
+
+        private final Collection<Shard> shards;
+        private final Function<Shard, Map<?, V>> accessor;
+
+        ShardValues(Collection<Shard> shards, Function<Shard, Map<?, V>> accessor) {
+            this.shards = shards;
+            this.accessor = accessor;
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            Iterator<Shard> shardIterator = shards.iterator();
+            return new Iterator<V>() {
+
+                private Iterator<V> current = Collections.emptyIterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext()) {
+                        if (!shardIterator.hasNext()) {
+                            return false;
+                        }
+                        current = accessor.apply(shardIterator.next()).values().iterator();
+                    }
+                    return true;
+                }
+
+                @Override
+                public V next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            int result = 0;
+            for (Shard shard : shards) {
+                result += accessor.apply(shard).size();
+            }
+            return result;
+        }
+    }
+}
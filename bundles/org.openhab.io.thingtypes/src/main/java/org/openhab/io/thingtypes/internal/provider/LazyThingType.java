@@ -0,0 +1,264 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ThingType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Holds a {@link ThingType} that is either created up front, or created from a compact parsed form the first time
+ * it is requested. If a {@link ThingTypeLimiter} is used, the {@link ThingType} can be evicted and is then created
+ * again when requested. Such types are created from a {@link Source}, which creates all the types it defines in one
+ * operation, so that an enumeration only has to read each {@link Source} once.
+ * <p>
+ * Creating a {@link ThingType} creates all its channel definitions, channel group definitions and properties, while
+ * a given installation typically only uses a few of the available types. The UID and properties are always available
+ * without creating the {@link ThingType}, so that the types can be indexed.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class LazyThingType {
+
+    private final Logger logger = LoggerFactory.getLogger(LazyThingType.class);
+
+    private final ThingTypeUID uid;
+    private final Map<String, String> properties;
+    private final boolean lazy;
+    private final @Nullable ThingTypeLimiter limiter;
+    private final @Nullable Source source;
+
+    // All access must be guarded by "this"
+    private @Nullable Callable<ThingType> factory;
+
+    private volatile @Nullable ThingType thingType;
+
+    // Set when the ThingType is requested and cleared by the ThingTypeLimiter, without locking
+    volatile boolean referenced;
+
+    // All access must be guarded by the ThingTypeLimiter
+    boolean removed;
+
+    private LazyThingType(ThingTypeUID uid, Map<String, String> properties, @Nullable Callable<ThingType> factory,
+            @Nullable ThingType thingType, @Nullable ThingTypeLimiter limiter, @Nullable Source source) {
+        this.uid = uid;
+        this.properties = properties;
+        this.factory = factory;
+        this.thingType = thingType;
+        this.lazy = factory != null;
+        this.limiter = limiter;
+        this.source = source;
+    }
+
+    /**
+     * Creates a new instance holding an existing {@link ThingType}.
+     *
+     * @param thingType the {@link ThingType}.
+     * @return The new {@link LazyThingType}.
+     */
+    public static LazyThingType of(ThingType thingType) {
+        return new LazyThingType(thingType.getUID(), thingType.getProperties(), null, thingType, null, null);
+    }
+
+    /**
+     * Creates a new instance that creates the {@link ThingType} using {@code factory} when first requested.
+     *
+     * @param uid the {@link ThingTypeUID} of the type that will be created.
+     * @param properties the properties of the type that will be created.
+     * @param factory the {@link Callable} that creates the {@link ThingType}.
+     * @return The new {@link LazyThingType}.
+     */
+    public static LazyThingType lazy(ThingTypeUID uid, Map<String, String> properties, Callable<ThingType> factory) {
+        return new LazyThingType(uid, properties, factory, null, null, null);
+    }
+
+    /**
+     * Creates a new instance that creates the {@link ThingType} from {@code source} when requested, and that can be
+     * evicted by {@code limiter}. The source is kept, so it must recreate the type from outside memory.
+     *
+     * @param uid the {@link ThingTypeUID} of the type that will be created.
+     * @param properties the properties of the type that will be created.
+     * @param source the {@link Source} that defines the {@link ThingType}.
+     * @param limiter the {@link ThingTypeLimiter} that decides when to evict the {@link ThingType}.
+     * @return The new {@link LazyThingType}.
+     */
+    public static LazyThingType limited(ThingTypeUID uid, Map<String, String> properties, Source source,
+            ThingTypeLimiter limiter) {
+        return new LazyThingType(uid, properties, () -> create(uid, source.read()), null, limiter, source);
+    }
+
+    /**
+     * @return The {@link ThingTypeUID}.
+     */
+    public ThingTypeUID getUID() {
+        return uid;
+    }
+
+    /**
+     * @return The properties of the {@link ThingType}, available without creating it.
+     */
+    public Map<String, String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * @return {@code true} if this instance was created with a factory, {@code false} otherwise.
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * @return {@code true} if the {@link ThingType} can be evicted by a {@link ThingTypeLimiter}, {@code false}
+     *         otherwise.
+     */
+    public boolean isLimited() {
+        return limiter != null;
+    }
+
+    /**
+     * @return {@code true} if the {@link ThingType} has been created, {@code false} otherwise.
+     */
+    public boolean isMaterialized() {
+        return thingType != null;
+    }
+
+    /**
+     * Returns the {@link ThingType}, creating it if this is the first request.
+     *
+     * @return The {@link ThingType} or {@code null} if it couldn't be created.
+     */
+    public @Nullable ThingType get() {
+        ThingTypeLimiter limiter = this.limiter;
+        ThingType result = thingType;
+        if (result != null) {
+            if (limiter != null) {
+                limiter.hit(this);
+            }
+            return result;
+        }
+        boolean created = false;
+        synchronized (this) {
+            result = thingType;
+            Callable<ThingType> factory = this.factory;
+            if (result == null && factory != null) {
+                try {
+                    result = factory.call();
+                    thingType = result;
+                    created = true;
+                } catch (Exception e) {
+                    logger.warn("Failed to create thing type \"{}\": {}", uid, e.getMessage());
+                    logger.trace("", e);
+                }
+                if (limiter == null) {
+                    // Release the parsed form, also if it failed so that it isn't attempted again
+                    this.factory = null;
+                }
+            }
+        }
+        // The limiter is notified without holding the lock, because it might evict other instances
+        if (limiter != null && result != null) {
+            if (created) {
+                limiter.created(this);
+            } else {
+                limiter.hit(this);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@link ThingType} for an enumeration of many types, without affecting which types the
+     * {@link ThingTypeLimiter} keeps in memory. If the {@link ThingType} can be evicted and isn't held in memory, a new
+     * instance is created that isn't kept. Otherwise, this is the same as {@link #get()}.
+     * <p>
+     * The results of reading each {@link Source} are kept in {@code read} for the length of the enumeration, so that
+     * a {@link Source} that defines several evicted types is only read once.
+     *
+     * @param read the results of the {@link Source}s read so far during the enumeration, by {@link Source}.
+     * @return The {@link ThingType} or {@code null} if it couldn't be created.
+     */
+    public @Nullable ThingType getTransient(Map<Source, Map<ThingTypeUID, Callable<ThingType>>> read) {
+        ThingType result = thingType;
+        Source source = this.source;
+        if (result != null || source == null) {
+            return result == null ? get() : result;
+        }
+        try {
+            Map<ThingTypeUID, Callable<ThingType>> factories = read.get(source);
+            if (factories == null) {
+                try {
+                    factories = source.read();
+                } finally {
+                    // Don't read a failing source again for each of its types
+                    read.put(source, factories == null ? Map.of() : factories);
+                }
+            }
+            return create(uid, factories);
+        } catch (Exception e) {
+            logger.warn("Failed to create thing type \"{}\": {}", uid, e.getMessage());
+            logger.trace("", e);
+            return null;
+        }
+    }
+
+    private static ThingType create(ThingTypeUID uid, Map<ThingTypeUID, Callable<ThingType>> factories)
+            throws Exception {
+        Callable<ThingType> factory = factories.get(uid);
+        if (factory == null) {
+            throw new IllegalStateException("The source no longer defines the thing type");
+        }
+        return factory.call();
+    }
+
+    /**
+     * Releases the {@link ThingType} if it can be created again.
+     *
+     * @return {@code true} if the {@link ThingType} was released, {@code false} otherwise.
+     */
+    synchronized boolean evict() {
+        if (factory == null || thingType == null) {
+            return false;
+        }
+        thingType = null;
+        return true;
+    }
+
+    /**
+     * The origin of limited {@link LazyThingType}s, like a file, which creates all the {@link ThingType}s it defines
+     * in one operation. Instances that are equal must represent the same origin.
+     */
+    @FunctionalInterface
+    public interface Source {
+
+        /**
+         * Reads the origin, and returns a factory for each {@link ThingType} it defines.
+         *
+         * @return The factories that create the {@link ThingType}s, by UID.
+         * @throws Exception If the origin can't be read.
+         */
+        Map<ThingTypeUID, Callable<ThingType>> read() throws Exception;
+    }
+
+    @Override
+    public String toString() {
+        return "LazyThingType [uid=" + uid + ", lazy=" + lazy + ", materialized=" + isMaterialized() + "]";
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ThingType;
+
+/**
+ * An immutable inverted index from {@link ThingType} property name and value to the UIDs of the types that have that
+ * property value.
+ * <p>
+ * Updates create a new instance that shares everything that isn't affected by the change with the previous
+ * instance, so the cost of an update depends on the changed types, not on the size of the index.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PropertyIndex {
+
+    /** An empty index */
+    public static final PropertyIndex EMPTY = new PropertyIndex(Map.of());
+
+    private final Map<String, Map<String, Set<ThingTypeUID>>> index;
+
+    private PropertyIndex(Map<String, Map<String, Set<ThingTypeUID>>> index) {
+        this.index = index;
+    }
+
+    /**
+     * Returns the UIDs of the types that have the specified property value.
+     *
+     * @param name the property name.
+     * @param value the property value.
+     * @return The immutable {@link Set} of {@link ThingTypeUID}s.
+     */
+    public Set<ThingTypeUID> get(String name, String value) {
+        Map<String, Set<ThingTypeUID>> values = index.get(name);
+        Set<ThingTypeUID> result = values == null ? null : values.get(value);
+        return result == null ? Set.of() : result;
+    }
+
+    /**
+     * Returns the UIDs of the types that have all the specified property values.
+     *
+     * @param properties the property names and values that must all match.
+     * @return The immutable {@link Set} of {@link ThingTypeUID}s.
+     */
+    public Set<ThingTypeUID> get(Map<String, String> properties) {
+        if (properties.isEmpty()) {
+            return Set.of();
+        }
+        // Start with the smallest candidate set to keep the intersection cheap
+        Set<ThingTypeUID> smallest = null;
+        for (Entry<String, String> property : properties.entrySet()) {
+            Set<ThingTypeUID> candidates = get(property.getKey(), property.getValue());
+            if (candidates.isEmpty()) {
+                return Set.of();
+            }
+            if (smallest == null || candidates.size() < smallest.size()) {
+                smallest = candidates;
+            }
+        }
+        if (smallest == null || properties.size() == 1) {
+            return smallest == null ? Set.of() : smallest;
+        }
+        Set<ThingTypeUID> result = new HashSet<>(smallest);
+        for (Entry<String, String> property : properties.entrySet()) {
+            result.retainAll(get(property.getKey(), property.getValue()));
+            if (result.isEmpty()) {
+                return Set.of();
+            }
+        }
+        return Set.copyOf(result);
+    }
+
+    /**
+     * Creates a new index where the properties of the specified types have been updated.
+     *
+     * @param oldProperties the lookup of the type properties before the change.
+     * @param newProperties the lookup of the type properties after the change.
+     * @param changed the UIDs of the types that have changed.
+     * @return The new {@link PropertyIndex}, or this instance if nothing changed.
+     */
+    public PropertyIndex update(Function<ThingTypeUID, @Nullable Map<String, String>> oldProperties,
+            Function<ThingTypeUID, @Nullable Map<String, String>> newProperties, Collection<ThingTypeUID> changed) {
+        // Working copies of the parts that are modified, everything else is shared with this instance
+        Map<String, Map<String, Set<ThingTypeUID>>> modified = new HashMap<>();
+        for (ThingTypeUID uid : changed) {
+            Map<String, String> properties = oldProperties.apply(uid);
+            if (properties != null) {
+                for (Entry<String, String> property : properties.entrySet()) {
+                    workingSet(modified, property.getKey(), property.getValue()).remove(uid);
+                }
+            }
+            properties = newProperties.apply(uid);
+            if (properties != null) {
+                for (Entry<String, String> property : properties.entrySet()) {
+                    workingSet(modified, property.getKey(), property.getValue()).add(uid);
+                }
+            }
+        }
+        if (modified.isEmpty()) {
+            return this;
+        }
+
+        Map<String, Map<String, Set<ThingTypeUID>>> newIndex = new HashMap<>(index);
+        for (Entry<String, Map<String, Set<ThingTypeUID>>> entry : modified.entrySet()) {
+            Map<String, Set<ThingTypeUID>> existing = index.get(entry.getKey());
+            Map<String, Set<ThingTypeUID>> values = existing == null ? new HashMap<>() : new HashMap<>(existing);
+            for (Entry<String, Set<ThingTypeUID>> valueEntry : entry.getValue().entrySet()) {
+                if (valueEntry.getValue().isEmpty()) {
+                    values.remove(valueEntry.getKey());
+                } else {
+                    values.put(valueEntry.getKey(), Collections.unmodifiableSet(valueEntry.getValue()));
+                }
+            }
+            if (values.isEmpty()) {
+                newIndex.remove(entry.getKey());
+            } else {
+                newIndex.put(entry.getKey(), Collections.unmodifiableMap(values));
+            }
+        }
+        return new PropertyIndex(Collections.unmodifiableMap(newIndex));
+    }
+
+    private Set<ThingTypeUID> workingSet(Map<String, Map<String, Set<ThingTypeUID>>> modified, String name,
+            String value) {
+        Map<String, Set<ThingTypeUID>> values = modified.computeIfAbsent(name, n -> new HashMap<>());
+        Set<ThingTypeUID> result = values.get(value);
+        if (result == null) {
+            result = new HashSet<>(get(name, value));
+            values.put(value, result);
+        }
+        return result;
+    }
+}
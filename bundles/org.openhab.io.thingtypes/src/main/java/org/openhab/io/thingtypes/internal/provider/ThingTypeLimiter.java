@@ -0,0 +1,165 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.type.ThingType;
+
+/**
+ * Limits the number of {@link ThingType}s that are held in memory by tracking the {@link LazyThingType}s that can
+ * recreate their {@link ThingType}, and evicting the least recently used ones beyond the limit.
+ * <p>
+ * The least recently used types are approximated with the CLOCK algorithm, so that requests for types that are held in
+ * memory only set a flag on the {@link LazyThingType} and don't take a lock. When a type must be evicted, the types
+ * are visited from the oldest, and those that have been requested since the last visit are moved to the back of the
+ * queue instead of being evicted.
+ * <p>
+ * Evicted types are recreated from the parse cache or the source file the next time they are requested. The UIDs and
+ * properties stay in memory, so lookups of types that don't exist are still answered without reading anything.
+ * <p>
+ * Only thing types are limited. Channel types are looked up for every channel of every thing, and are shared by many
+ * thing types, so evicting them would make ordinary lookups read files. They are also small compared to the thing
+ * types, and their texts are shared between identical definitions by {@code SharedDescriptions} and {@code Interner}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class ThingTypeLimiter {
+
+    // All access must be guarded by "this"
+    private final LinkedHashSet<LazyThingType> materialized = new LinkedHashSet<>();
+
+    // All access must be guarded by "this"
+    private int maximum;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Sets the maximum number of {@link ThingType}s to keep in memory, evicting the least recently used types if
+     * there are currently more.
+     *
+     * @param maximum the maximum number of {@link ThingType}s, {@code 0} or less means no limit.
+     */
+    public synchronized void setMaximum(int maximum) {
+        this.maximum = maximum;
+        trim();
+    }
+
+    /**
+     * @return The maximum number of {@link ThingType}s to keep in memory, {@code 0} or less means no limit.
+     */
+    public synchronized int getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return The number of requests that were served by a {@link ThingType} that was held in memory.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of requests that required a {@link ThingType} to be created.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The number of {@link ThingType}s that have been evicted from memory.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Registers a request for a {@link ThingType} that was held in memory. This doesn't take any locks.
+     *
+     * @param thingType the {@link LazyThingType} that was requested.
+     */
+    void hit(LazyThingType thingType) {
+        hits.increment();
+        if (!thingType.referenced) {
+            thingType.referenced = true;
+        }
+    }
+
+    /**
+     * Registers that a {@link ThingType} was created, and evicts the least recently used types beyond the limit.
+     * Types that have been removed in the meantime aren't tracked. Must not be called while holding the lock of a
+     * {@link LazyThingType}.
+     *
+     * @param thingType the {@link LazyThingType} whose {@link ThingType} was created.
+     */
+    synchronized void created(LazyThingType thingType) {
+        misses.increment();
+        if (thingType.removed) {
+            thingType.evict();
+            return;
+        }
+        thingType.referenced = true;
+        materialized.add(thingType);
+        trim();
+    }
+
+    /**
+     * Stops tracking a {@link LazyThingType} that is no longer provided. If its {@link ThingType} is being created
+     * while it is removed, it won't be tracked when the creation completes.
+     *
+     * @param thingType the {@link LazyThingType} to remove.
+     */
+    public synchronized void remove(LazyThingType thingType) {
+        thingType.removed = true;
+        materialized.remove(thingType);
+    }
+
+    // Must be called while holding "this". LazyThingType never calls this class while holding its own lock, so its
+    // lock can be taken here.
+    private void trim() {
+        if (maximum <= 0) {
+            return;
+        }
+        // Each type gets at most one more round, also if it is requested again while this runs
+        int chances = materialized.size();
+        while (materialized.size() > maximum) {
+            LazyThingType candidate = materialized.iterator().next();
+            materialized.remove(candidate);
+            if (candidate.referenced && chances-- > 0) {
+                candidate.referenced = false;
+                materialized.add(candidate);
+                continue;
+            }
+            if (candidate.evict()) {
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        int maximum;
+        int size;
+        synchronized (this) {
+            maximum = this.maximum;
+            size = materialized.size();
+        }
+        return "ThingTypeLimiter [maximum=" + maximum + ", materialized=" + size + ", hits=" + hits + ", misses=" +
+            misses + ", evictions=" + evictions + "]";
+    }
+}
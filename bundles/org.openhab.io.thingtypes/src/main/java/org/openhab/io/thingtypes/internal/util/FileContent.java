@@ -0,0 +1,44 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The content of a file and its {@link FileState}, read together so that the content that is parsed is the same as
+ * the content that was digested.
+ *
+ * @param state the {@link FileState} of {@code bytes}.
+ * @param bytes the file content.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public record FileContent(FileState state, byte[] bytes) {
+
+    /**
+     * Reads the specified file. The modification time is read before the content, so that a modification during
+     * the read leaves a state that doesn't match the file, and the file is read again the next time it's processed.
+     *
+     * @param path the file to read.
+     * @return The resulting {@link FileContent}.
+     * @throws IOException If the file can't be read.
+     */
+    public static FileContent read(Path path) throws IOException {
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        byte[] bytes = Files.readAllBytes(path);
+        return new FileContent(new FileState(bytes.length, lastModified, FileState.digest(bytes)), bytes);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.util.HexFormat;
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The size, modification time and content digest of a file at a given point in time.
+ *
+ * @param size the file size in bytes.
+ * @param lastModified the last modification time in milliseconds since the epoch.
+ * @param digest the hexadecimal digest of the file content, see {@link #digest(byte[])}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public record FileState(long size, long lastModified, String digest) {
+
+    /**
+     * Calculates the hexadecimal digest of the specified data, a 64-bit value made from its CRC-32C and CRC-32
+     * checksums. The digest is only used to detect changed content, not to withstand deliberate collisions, so a
+     * cryptographic hash isn't needed. Both checksums are intrinsics on common platforms, and calculating them is
+     * about 5 times as fast as SHA-256.
+     *
+     * @param data the data to digest.
+     * @return The hexadecimal digest.
+     */
+    public static String digest(byte[] data) {
+        CRC32C crc32c = new CRC32C();
+        crc32c.update(data);
+        CRC32 crc32 = new CRC32();
+        crc32.update(data);
+        return HexFormat.of().toHexDigits(crc32c.getValue() << 32 | crc32.getValue());
+    }
+}
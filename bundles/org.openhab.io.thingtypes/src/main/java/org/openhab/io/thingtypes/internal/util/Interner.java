@@ -0,0 +1,186 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Canonicalizes the strings and small immutable collections created while parsing, so that the labels, item types,
+ * categories, tags, option values and property names that are repeated across many definitions share one instance.
+ * <p>
+ * Unlike {@link String#intern()}, the pool belongs to the add-on and only holds weak references, so instances that
+ * are no longer used by any definition can be garbage collected, and the pool is released when the add-on is
+ * uninstalled.
+ * <p>
+ * The pool is a {@link ConcurrentHashMap} keyed by weak references, so that the parser threads don't contend for a
+ * lock. Entries whose instance has been garbage collected are removed using a {@link ReferenceQueue}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class Interner {
+
+    private static final ConcurrentHashMap<Object, WeakKey> POOL = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Object> QUEUE = new ReferenceQueue<>();
+
+    /**
+     * Not to be instantiated.
+     */
+    private Interner() {
+    }
+
+    /**
+     * Returns the canonical instance of the specified string.
+     *
+     * @param value the {@link String} to canonicalize.
+     * @return The canonical {@link String}.
+     */
+    public static String intern(String value) {
+        return canonical(value);
+    }
+
+    /**
+     * Returns the canonical instance of the specified string, if any.
+     *
+     * @param value the {@link String} to canonicalize.
+     * @return The canonical {@link String} or {@code null} if {@code value} is {@code null}.
+     */
+    public static @Nullable String internNullable(@Nullable String value) {
+        return value == null ? null : canonical(value);
+    }
+
+    /**
+     * Returns the canonical immutable copy of the specified strings.
+     *
+     * @param values the strings to canonicalize.
+     * @return The canonical immutable {@link Set}.
+     */
+    public static Set<String> internSet(Collection<String> values) {
+        Set<String> result = new HashSet<>(values.size() * 4 / 3 + 1);
+        for (String value : values) {
+            result.add(canonical(value));
+        }
+        return canonical(Set.copyOf(result));
+    }
+
+    /**
+     * Returns the canonical immutable copy of the specified map, where the keys and values are canonicalized too.
+     *
+     * @param map the {@link Map} to canonicalize.
+     * @return The canonical immutable {@link Map}.
+     */
+    public static Map<String, String> internMap(Map<String, String> map) {
+        Map<String, String> result = new HashMap<>(map.size() * 4 / 3 + 1);
+        for (Entry<String, String> entry : map.entrySet()) {
+            result.put(canonical(entry.getKey()), canonical(entry.getValue()));
+        }
+        return canonical(Map.copyOf(result));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T canonical(T value) {
+        expunge();
+        WeakKey existing = POOL.get(new LookupKey(value));
+        Object result = existing == null ? null : existing.get();
+        if (result != null) {
+            return (T) result;
+        }
+        WeakKey key = new WeakKey(value, QUEUE);
+        while (true) {
+            existing = POOL.putIfAbsent(key, key);
+            if (existing == null) {
+                return value;
+            }
+            result = existing.get();
+            if (result != null) {
+                return (T) result;
+            }
+            // Collected after it was found, remove it and try again
+            POOL.remove(existing, existing);
+        }
+    }
+
+    /**
+     * Removes the entries whose instance has been garbage collected.
+     */
+    private static void expunge() {
+        Reference<?> reference;
+        while ((reference = QUEUE.poll()) != null) {
+            // A collected key only equals itself
+            POOL.remove(reference, reference);
+        }
+    }
+
+    /**
+     * A pool key that doesn't prevent its instance from being garbage collected. Two keys are equal if their
+     * instances are equal, while a key whose instance has been collected is only equal to itself.
+     */
+    private static class WeakKey extends WeakReference<Object> {
+
+        private final int hash;
+
+        WeakKey(Object value, ReferenceQueue<Object> queue) {
+            super(value, queue);
+            hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof WeakKey other) || hash != other.hash) {
+                return false;
+            }
+            Object value = get();
+            return value != null && value.equals(other.get());
+        }
+    }
+
+    /**
+     * A short-lived key used to look up an instance without creating a {@link WeakReference}.
+     */
+    private static class LookupKey {
+
+        private final Object value;
+
+        LookupKey(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            return obj instanceof WeakKey other && value.equals(other.get());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Collects paths reported by file system events and releases each path once no new events have been reported for
+ * it during a "quiet period". Any number of events for the same path within the quiet period results in the path
+ * being released only once.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PathEventCoalescer {
+
+    private final ScheduledExecutorService scheduler;
+    private final long quietPeriodNanos;
+    private final Consumer<Path> consumer;
+
+    // All access must be guarded by "this". Since every path gets the same quiet period, re-inserting a path on
+    // every event keeps the entries sorted by deadline.
+    private final Map<Path, Long> deadlines = new LinkedHashMap<>();
+
+    // All access must be guarded by "this"
+    private @Nullable ScheduledFuture<?> flushJob;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param scheduler the {@link ScheduledExecutorService} to use for timing.
+     * @param quietPeriod the quiet period in milliseconds.
+     * @param consumer the {@link Consumer} that receives released paths. It is called from the scheduler thread and
+     *            should hand off any time-consuming work.
+     */
+    public PathEventCoalescer(ScheduledExecutorService scheduler, long quietPeriod, Consumer<Path> consumer) {
+        this.scheduler = scheduler;
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(quietPeriod, 0L));
+        this.consumer = consumer;
+    }
+
+    /**
+     * Registers an event for the specified path, which restarts the quiet period for that path.
+     *
+     * @param path the path the event is for.
+     */
+    public synchronized void add(Path path) {
+        deadlines.remove(path);
+        deadlines.put(path, System.nanoTime() + quietPeriodNanos);
+        if (flushJob == null) {
+            flushJob = scheduler.schedule(this::flush, quietPeriodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Discards all pending paths.
+     */
+    public synchronized void cancel() {
+        deadlines.clear();
+        ScheduledFuture<?> job = flushJob;
+        if (job != null) {
+            job.cancel(false);
+            flushJob = null;
+        }
+    }
+
+    private void flush() {
+        List<Path> due = new ArrayList<>();
+        synchronized (this) {
+            flushJob = null;
+            long now = System.nanoTime();
+            Iterator<Entry<Path, Long>> iterator = deadlines.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Entry<Path, Long> entry = iterator.next();
+                long remaining = entry.getValue().longValue() - now;
+                if (remaining > 0L) {
+                    flushJob = scheduler.schedule(this::flush, remaining, TimeUnit.NANOSECONDS);
+                    break;
+                }
+                due.add(entry.getKey());
+                iterator.remove();
+            }
+        }
+        for (Path path : due) {
+            consumer.accept(path);
+        }
+    }
+}
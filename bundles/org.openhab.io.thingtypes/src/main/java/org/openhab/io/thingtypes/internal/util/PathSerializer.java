@@ -0,0 +1,174 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Hands paths to a {@link Consumer} on an {@link Executor}, making sure that the same path is never processed by
+ * more than one thread at a time, while different paths are processed in parallel. The consumer is expected to
+ * process the current state of the path, not the event that caused it to be submitted, so a path that is submitted
+ * while it is already waiting is only processed once, and a path that is submitted while it's being processed is
+ * processed once more afterwards. That way, the last change always wins.
+ * <p>
+ * An instance can be created held. Until it is released, submitted paths are collected instead of processed, and they
+ * are processed when released.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PathSerializer {
+
+    private final Executor executor;
+    private final Consumer<Path> consumer;
+
+    // All access must be guarded by "this"
+    private final Map<Path, State> states = new HashMap<>();
+
+    // All access must be guarded by "this"
+    private final Set<Path> heldPaths = new LinkedHashSet<>();
+
+    // All access must be guarded by "this"
+    private boolean held;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param executor the {@link Executor} to process the paths on.
+     * @param consumer the {@link Consumer} that processes the paths.
+     * @param held {@code true} to create the instance in the held state, {@code false} otherwise.
+     */
+    public PathSerializer(Executor executor, Consumer<Path> consumer, boolean held) {
+        this.executor = executor;
+        this.consumer = consumer;
+        this.held = held;
+    }
+
+    /**
+     * Submits the specified path for processing.
+     *
+     * @param path the path to process.
+     * @throws RejectedExecutionException If the {@link Executor} refuses the task.
+     */
+    public void submit(Path path) {
+        synchronized (this) {
+            if (held) {
+                heldPaths.add(path);
+                return;
+            }
+            State state = states.get(path);
+            if (state == State.RUNNING) {
+                states.put(path, State.RERUN);
+                return;
+            }
+            if (state != null) {
+                return;
+            }
+            states.put(path, State.QUEUED);
+        }
+        try {
+            executor.execute(() -> process(path));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                states.remove(path);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Submits all paths that have been collected while held, and resumes normal processing.
+     *
+     * @throws RejectedExecutionException If the {@link Executor} refuses the tasks.
+     */
+    public void release() {
+        List<Path> paths;
+        synchronized (this) {
+            held = false;
+            paths = new ArrayList<>(heldPaths);
+            heldPaths.clear();
+        }
+        for (Path path : paths) {
+            submit(path);
+        }
+    }
+
+    private void process(Path path) {
+        synchronized (this) {
+            states.put(path, State.RUNNING);
+        }
+        boolean rerun;
+        do {
+            boolean failed = true;
+            try {
+                consumer.accept(path);
+                failed = false;
+            } finally {
+                rerun = complete(path, failed);
+            }
+        } while (rerun);
+    }
+
+    /**
+     * Ends a run of the consumer. A rerun requested while it ran is done by the calling thread, or by a new task if
+     * the run failed, since the failure ends the current task.
+     *
+     * @param path the path that was processed.
+     * @param failed {@code true} if the consumer threw, {@code false} otherwise.
+     * @return {@code true} if the calling thread must process the path again, {@code false} otherwise.
+     */
+    private boolean complete(Path path, boolean failed) {
+        synchronized (this) {
+            if (states.get(path) != State.RERUN) {
+                states.remove(path);
+                return false;
+            }
+            if (!failed) {
+                states.put(path, State.RUNNING);
+                return true;
+            }
+            states.put(path, State.QUEUED);
+        }
+        try {
+            executor.execute(() -> process(path));
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                states.remove(path);
+            }
+        }
+        return false;
+    }
+
+    private enum State {
+
+        /** Waiting for the executor */
+        QUEUED,
+
+        /** Being processed */
+        RUNNING,
+
+        /** Being processed, and must be processed again afterwards */
+        RERUN
+    }
+}
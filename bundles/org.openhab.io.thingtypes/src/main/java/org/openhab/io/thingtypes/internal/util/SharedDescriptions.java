@@ -0,0 +1,166 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.CommandDescription;
+import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.StateDescriptionFragment;
+import org.openhab.core.types.StateOption;
+
+/**
+ * Shares one immutable instance between structurally equal {@link StateDescriptionFragment}s and
+ * {@link CommandDescription}s, which are often repeated across thousands of channel types, for example identical
+ * dimmer ranges or on/off options.
+ * <p>
+ * The instances are looked up by their content, and are only weakly referenced, so that descriptions that are no
+ * longer used by any channel type can be garbage collected. Like {@link Interner}, the pools are
+ * {@link ConcurrentHashMap}s, so that the parser threads don't contend for a lock.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class SharedDescriptions {
+
+    private static final Pool<StateKey, StateDescriptionFragment> STATE_DESCRIPTIONS = new Pool<>();
+    private static final Pool<List<Option>, CommandDescription> COMMAND_DESCRIPTIONS = new Pool<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Not to be instantiated.
+     */
+    private SharedDescriptions() {
+    }
+
+    /**
+     * Returns the shared instance that is structurally equal to the specified {@link StateDescriptionFragment}.
+     *
+     * @param fragment the {@link StateDescriptionFragment}.
+     * @return The shared {@link StateDescriptionFragment} or {@code null} if {@code fragment} is {@code null}.
+     */
+    public static @Nullable StateDescriptionFragment share(@Nullable StateDescriptionFragment fragment) {
+        if (fragment == null) {
+            return null;
+        }
+        List<StateOption> stateOptions = fragment.getOptions();
+        List<Option> options = new ArrayList<>(stateOptions == null ? 0 : stateOptions.size());
+        if (stateOptions != null) {
+            for (StateOption option : stateOptions) {
+                options.add(new Option(option.getValue(), option.getLabel()));
+            }
+        }
+        return STATE_DESCRIPTIONS.share(new StateKey(fragment.getMinimum(), fragment.getMaximum(), fragment.getStep(),
+            fragment.getPattern(), fragment.isReadOnly(), options), fragment);
+    }
+
+    /**
+     * Returns the shared instance that is structurally equal to the specified {@link CommandDescription}.
+     *
+     * @param description the {@link CommandDescription}.
+     * @return The shared {@link CommandDescription} or {@code null} if {@code description} is {@code null}.
+     */
+    public static @Nullable CommandDescription share(@Nullable CommandDescription description) {
+        if (description == null) {
+            return null;
+        }
+        List<CommandOption> commandOptions = description.getCommandOptions();
+        List<Option> options = new ArrayList<>(commandOptions.size());
+        for (CommandOption option : commandOptions) {
+            options.add(new Option(option.getCommand(), option.getLabel()));
+        }
+        return COMMAND_DESCRIPTIONS.share(options, description);
+    }
+
+    /**
+     * @return The number of descriptions that were replaced by an existing shared instance.
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return The number of descriptions that became a new shared instance.
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    private record Option(String value, @Nullable String label) {
+    }
+
+    private record StateKey(@Nullable BigDecimal minimum, @Nullable BigDecimal maximum, @Nullable BigDecimal step,
+            @Nullable String pattern, @Nullable Boolean readOnly, List<Option> options) {
+    }
+
+    /**
+     * A map of weakly referenced values by content key, where the keys of collected values are expunged on access.
+     */
+    private static class Pool<K, V> {
+
+        private final ConcurrentHashMap<K, ValueReference<K, V>> values = new ConcurrentHashMap<>();
+        private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+        V share(K key, V value) {
+            expunge();
+            ValueReference<K, V> created = null;
+            while (true) {
+                ValueReference<K, V> reference = values.get(key);
+                V result = reference == null ? null : reference.get();
+                if (result != null) {
+                    HITS.increment();
+                    return result;
+                }
+                if (created == null) {
+                    created = new ValueReference<>(key, value, queue);
+                }
+                // A reference only equals itself, so this fails if another thread has changed the entry
+                if (reference == null ? values.putIfAbsent(key, created) == null :
+                    values.replace(key, reference, created)) {
+                    MISSES.increment();
+                    return value;
+                }
+            }
+        }
+
+        /**
+         * Removes the entries whose value has been garbage collected.
+         */
+        @SuppressWarnings("unchecked")
+        private void expunge() {
+            ValueReference<K, V> reference;
+            while ((reference = (ValueReference<K, V>) queue.poll()) != null) {
+                values.remove(reference.key, reference);
+            }
+        }
+    }
+
+    private static class ValueReference<K, V> extends WeakReference<V> {
+
+        final K key;
+
+        ValueReference(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
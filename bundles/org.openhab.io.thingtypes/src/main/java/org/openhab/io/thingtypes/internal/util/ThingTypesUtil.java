@@ -10,7 +10,11 @@
  */
 package org.openhab.io.thingtypes.internal.util;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.NavigableMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -142,4 +146,28 @@ public class ThingTypesUtil {
         }
         return true;
     }
+
+    /**
+     * Returns the keys of the specified sorted map that are located in the specified directory or any of its
+     * subdirectories. Since all paths that start with the same characters are sorted next to each other, only the
+     * matching entries and their immediate neighbours are visited.
+     *
+     * @param map the {@link NavigableMap} with paths as keys.
+     * @param directory the directory.
+     * @return The {@link List} of matching paths, empty if there are none.
+     */
+    public static List<Path> getPathsIn(NavigableMap<Path, ?> map, Path directory) {
+        List<Path> result = new ArrayList<>();
+        String prefix = directory.toString();
+        for (Path path : map.tailMap(directory, false).keySet()) {
+            // Ignore case, since paths might be sorted case-insensitively
+            if (!path.toString().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            if (path.startsWith(directory)) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.service.WatchService;
+import org.openhab.core.service.WatchService.Kind;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.provider.FileChannelTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileThingTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+
+/**
+ * Stress tests {@link FileProcessor} by changing files and reporting watch events while the scan is running, and
+ * then comparing what the providers offer with the files on disk.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class FileProcessorTest {
+
+    private static final String BINDING_ID = "stress";
+    private static final int FILES = 40;
+    private static final int WRITERS = 2;
+    private static final int CHANGES_PER_WRITER = 150;
+    private static final int ROUNDS = 3;
+
+    private @TempDir @Nullable Path root;
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+    private final FileTypeStore store = new FileTypeStore();
+    private final FileTypeLocalizer localizer = new FileTypeLocalizer();
+    private final FileThingTypeProvider thingTypeProvider = new FileThingTypeProvider(store, localizer);
+    private final FileChannelTypeProvider channelTypeProvider = new FileChannelTypeProvider(store, localizer);
+
+    // The version of each file on disk, absent if the file doesn't exist
+    private final Map<Integer, Integer> versions = new ConcurrentHashMap<>();
+
+    private final WatchService watchService = mock(WatchService.class);
+    private @Nullable FileProcessor processor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path root = Objects.requireNonNull(this.root);
+        when(watchService.getWatchPath()).thenReturn(root);
+        Files.createDirectories(getFolder().resolve("sub"));
+        for (int i = 0; i < FILES; i++) {
+            write(i, 0);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+        FileProcessor processor = this.processor;
+        if (processor != null) {
+            processor.deactivate();
+        }
+    }
+
+    @Test
+    void concurrentScanAndEventsXStream() throws Exception {
+        stress(ThingTypesConfiguration.PARSER_XSTREAM);
+    }
+
+    @Test
+    void concurrentScanAndEventsStax() throws Exception {
+        stress(ThingTypesConfiguration.PARSER_STAX);
+    }
+
+    /**
+     * Activates a new processor for each round, which starts a scan, and changes files and reports the changes
+     * from several threads while it runs. Files are also changed between the rounds without reporting it, which
+     * only the scan can pick up.
+     */
+    private void stress(String parser) throws Exception {
+        Map<String, Object> config = new HashMap<>();
+        config.put("parser", parser);
+        config.put("parseCache", false);
+        config.put("quietPeriod", 5L);
+        config.put("scanThreads", 3);
+        Random random = new Random(42L);
+        for (int round = 0; round < ROUNDS; round++) {
+            FileProcessor previous = processor;
+            if (previous != null) {
+                previous.deactivate();
+                for (int i = 0; i < FILES / 4; i++) {
+                    change(random.nextInt(FILES), random);
+                }
+            }
+            FileProcessor processor = new TestFileProcessor(watchService, store, localizer);
+            this.processor = processor;
+            processor.activate(config);
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                int first = writer;
+                long seed = random.nextLong();
+                futures.add(pool.submit(() -> {
+                    Random writerRandom = new Random(seed);
+                    for (int i = 0; i < CHANGES_PER_WRITER; i++) {
+                        // Each writer owns every WRITERS'th file, so that the events for a file are in order
+                        int file = first + WRITERS * writerRandom.nextInt(FILES / WRITERS);
+                        processor.processWatchEvent(change(file, writerRandom), getPath(file));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            awaitContents();
+        }
+    }
+
+    /**
+     * Modifies, deletes or creates the specified file.
+     *
+     * @return The kind of change.
+     */
+    private Kind change(int file, Random random) throws IOException {
+        Integer version = versions.get(file);
+        if (version == null) {
+            write(file, 0);
+            return Kind.CREATE;
+        }
+        if (random.nextInt(5) == 0) {
+            Files.delete(getPath(file));
+            versions.remove(file);
+            return Kind.DELETE;
+        }
+        write(file, version + 1);
+        return Kind.MODIFY;
+    }
+
+    private void write(int file, int version) throws IOException {
+        // The size varies with the version, so that not every change keeps the size
+        String padding = " ".repeat(version % 7);
+        String xml = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <thing:thing-descriptions bindingId="%1$s"
+            	xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+            	xmlns:thing="https://openhab.org/schemas/thing-description/v1.0.0"
+            	xsi:schemaLocation="https://openhab.org/schemas/thing-description/v1.0.0 https://openhab.org/schemas/thing-description-1.0.0.xsd">
+            	<thing-type id="thing%2$d">
+            		<label>%3$s</label>
+            		<channels>
+            			<channel id="value" typeId="channel%2$d"/>
+            		</channels>
+            	</thing-type>
+            	<channel-type id="channel%2$d">
+            		<item-type>Number</item-type>
+            		<label>%3$s</label>%4$s
+            	</channel-type>
+            </thing:thing-descriptions>
+            """.formatted(BINDING_ID, file, getLabel(file, version), padding);
+        Files.writeString(getPath(file), xml, StandardCharsets.UTF_8);
+        versions.put(file, version);
+    }
+
+    private static String getLabel(int file, int version) {
+        return "File " + file + " version " + version;
+    }
+
+    private Path getFolder() {
+        return Objects.requireNonNull(root).resolve(FileProcessor.FOLDER_NAME);
+    }
+
+    private Path getPath(int file) {
+        // Some files are in a subdirectory, which is scanned and watched too
+        return getFolder().resolve(file % 3 == 0 ? "sub" : "").resolve("stress" + file + ".xml");
+    }
+
+    /**
+     * Waits for the providers to offer exactly the types defined by the files on disk, and fails if they don't
+     * within a reasonable time.
+     */
+    private void awaitContents() throws InterruptedException {
+        Map<String, String> expectedThingTypes = new HashMap<>();
+        Map<String, String> expectedChannelTypes = new HashMap<>();
+        versions.forEach((file, version) -> {
+            expectedThingTypes.put(BINDING_ID + ":thing" + file, getLabel(file, version));
+            expectedChannelTypes.put(BINDING_ID + ":channel" + file, getLabel(file, version));
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        Map<String, String> thingTypes = getThingTypes();
+        Map<String, String> channelTypes = getChannelTypes();
+        while ((!expectedThingTypes.equals(thingTypes) || !expectedChannelTypes.equals(channelTypes)) &&
+            System.nanoTime() < deadline) {
+            Thread.sleep(20L);
+            thingTypes = getThingTypes();
+            channelTypes = getChannelTypes();
+        }
+        assertEquals(expectedThingTypes, thingTypes);
+        assertEquals(expectedChannelTypes, channelTypes);
+    }
+
+    private Map<String, String> getThingTypes() {
+        Map<String, String> result = new HashMap<>();
+        for (ThingType thingType : thingTypeProvider.getThingTypes(null)) {
+            result.put(thingType.getUID().getAsString(), String.valueOf(thingType.getLabel()));
+        }
+        return result;
+    }
+
+    private Map<String, String> getChannelTypes() {
+        Map<String, String> result = new HashMap<>();
+        for (ChannelType channelType : channelTypeProvider.getChannelTypes(null)) {
+            result.put(channelType.getUID().getAsString(), String.valueOf(channelType.getLabel()));
+        }
+        return result;
+    }
+
+    /**
+     * A {@link FileProcessor} that doesn't ask the framework for the cache version.
+     */
+    private static class TestFileProcessor extends FileProcessor {
+
+        TestFileProcessor(WatchService watchService, FileTypeStore store, FileTypeLocalizer localizer) {
+            super(watchService, store, localizer);
+        }
+
+        @Override
+        protected String getCacheVersion() {
+            return "test";
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.io.thingtypes.internal.parser.StaxThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.util.FileState;
+
+/**
+ * Tests that {@link DefinitionCache} returns what was stored, and only as long as the source file is unchanged.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class DefinitionCacheTest {
+
+    private static final Path SOURCE = Path.of("thingtypes", "reader-comparison.xml");
+    private static final FileState STATE = new FileState(100L, 1000L, "digest");
+
+    // The results of a file without definitions, since only the round trip depends on the content
+    private static final List<Object> RESULTS = List.of();
+
+    private @TempDir @Nullable Path folder;
+
+    private Path folder() {
+        return Objects.requireNonNull(folder);
+    }
+
+    /**
+     * Describes the results by their fingerprints, in the same order regardless of the order of the results.
+     */
+    private static List<String> fingerprints(List<?> results) {
+        List<String> result = new ArrayList<>();
+        for (Object xmlResult : results) {
+            result.add(Objects.requireNonNull(CachedResultMapper.fingerprint(xmlResult)));
+        }
+        result.sort(null);
+        return result;
+    }
+
+    @Test
+    void roundTrip() throws Exception {
+        URL url = Objects.requireNonNull(DefinitionCacheTest.class.getResource("/thingtypes/reader-comparison.xml"));
+        List<Object> results = new StaxThingDescriptionReader().readFromXML(url);
+        DefinitionCache cache = new DefinitionCache(folder(), "1");
+        assertNull(cache.get(SOURCE, STATE));
+        cache.put(SOURCE, STATE, results);
+
+        List<Object> cached = new DefinitionCache(folder(), "1").get(SOURCE, STATE);
+        assertNotNull(cached);
+        assertEquals(results.size(), cached.size());
+        assertEquals(fingerprints(results), fingerprints(cached));
+    }
+
+    @Test
+    void changedFileIsMiss() {
+        DefinitionCache cache = new DefinitionCache(folder(), "1");
+        cache.put(SOURCE, STATE, RESULTS);
+        assertNull(cache.get(SOURCE, new FileState(101L, 1000L, "digest")));
+        assertNull(cache.get(SOURCE, new FileState(100L, 1001L, "digest")));
+        assertNull(cache.get(SOURCE, new FileState(100L, 1000L, "other")));
+        assertNull(cache.get(Path.of("thingtypes", "other.xml"), STATE));
+        assertNotNull(cache.get(SOURCE, STATE));
+        assertEquals(1L, cache.getHits());
+        assertEquals(4L, cache.getMisses());
+    }
+
+    @Test
+    void changedVersionClearsEntries() {
+        new DefinitionCache(folder(), "1").put(SOURCE, STATE, RESULTS);
+        assertNull(new DefinitionCache(folder(), "2").get(SOURCE, STATE));
+        assertNull(new DefinitionCache(folder(), "1").get(SOURCE, STATE));
+    }
+
+    @Test
+    void removeAndRetainAll() {
+        Path other = Path.of("thingtypes", "other.xml");
+        DefinitionCache cache = new DefinitionCache(folder(), "1");
+        cache.put(SOURCE, STATE, RESULTS);
+        cache.put(other, STATE, RESULTS);
+        cache.retainAll(List.of(other));
+        assertNull(cache.get(SOURCE, STATE));
+        assertNotNull(cache.get(other, STATE));
+        cache.remove(other);
+        assertNull(cache.get(other, STATE));
+    }
+
+    @Test
+    void invalidEntryIsMiss() throws Exception {
+        DefinitionCache cache = new DefinitionCache(folder(), "1");
+        cache.put(SOURCE, STATE, RESULTS);
+        try (Stream<Path> entries = Files.list(folder())) {
+            for (Path entry : entries.filter(path -> path.toString().endsWith(".json")).toList()) {
+                Files.writeString(entry, "{ invalid");
+            }
+        }
+        assertNull(cache.get(SOURCE, STATE));
+        assertEquals(1L, cache.getMisses());
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.parser;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.config.core.ConfigDescription;
+import org.openhab.core.config.core.ConfigDescriptionParameter;
+import org.openhab.core.config.core.ConfigDescriptionParameterGroup;
+import org.openhab.core.thing.type.BridgeType;
+import org.openhab.core.thing.type.ChannelDefinition;
+import org.openhab.core.thing.type.ChannelGroupDefinition;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.core.types.CommandDescription;
+import org.openhab.core.types.EventDescription;
+import org.openhab.core.types.StateDescription;
+import org.openhab.io.thingtypes.internal.copied.ChannelGroupTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ChannelTypeXmlResult;
+import org.openhab.io.thingtypes.internal.copied.ThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.copied.ThingTypeXmlResult;
+
+/**
+ * Parses the same document with {@link StaxThingDescriptionReader} and the XStream based
+ * {@link ThingDescriptionReader}, and verifies that the results are equal field by field.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class StaxThingDescriptionReaderTest {
+
+    private static List<?> xstreamResults = List.of();
+    private static List<?> staxResults = List.of();
+
+    @BeforeAll
+    static void readDocument() throws Exception {
+        URL url = Objects.requireNonNull(
+            StaxThingDescriptionReaderTest.class.getResource("/thingtypes/reader-comparison.xml"));
+        xstreamResults = Objects.requireNonNull(new ThingDescriptionReader().readFromXML(url));
+        staxResults = new StaxThingDescriptionReader().readFromXML(url);
+    }
+
+    @Test
+    void sameResultsFromContent() throws Exception {
+        URL url = Objects.requireNonNull(
+            StaxThingDescriptionReaderTest.class.getResource("/thingtypes/reader-comparison.xml"));
+        byte[] content;
+        try (InputStream is = url.openStream()) {
+            content = is.readAllBytes();
+        }
+        List<?> results = new StaxThingDescriptionReader().readFromXML(content, url.toString());
+        assertEquals(staxResults.size(), results.size());
+        results = Objects.requireNonNull(new ThingDescriptionReader().readFromXML(content));
+        assertEquals(xstreamResults.size(), results.size());
+        for (int i = 0; i < xstreamResults.size(); i++) {
+            assertEquals(xstreamResults.get(i).getClass(), results.get(i).getClass(), "result " + i);
+        }
+    }
+
+    @Test
+    void sameResults() {
+        assertEquals(8, xstreamResults.size());
+        assertEquals(xstreamResults.size(), staxResults.size());
+        for (int i = 0; i < xstreamResults.size(); i++) {
+            assertEquals(xstreamResults.get(i).getClass(), staxResults.get(i).getClass(), "result " + i);
+        }
+    }
+
+    @Test
+    void sameThingTypes() throws Exception {
+        int count = 0;
+        for (int i = 0; i < xstreamResults.size(); i++) {
+            if (xstreamResults.get(i) instanceof ThingTypeXmlResult expected) {
+                ThingTypeXmlResult actual = (ThingTypeXmlResult) staxResults.get(i);
+                assertThingType(expected.toThingType(), actual.toThingType());
+                assertConfigDescription(expected.getConfigDescription(), actual.getConfigDescription());
+                count++;
+            }
+        }
+        assertEquals(3, count);
+    }
+
+    @Test
+    void sameChannelTypes() {
+        int count = 0;
+        for (int i = 0; i < xstreamResults.size(); i++) {
+            if (xstreamResults.get(i) instanceof ChannelTypeXmlResult expected) {
+                ChannelTypeXmlResult actual = (ChannelTypeXmlResult) staxResults.get(i);
+                assertEquals(expected.isSystem(), actual.isSystem());
+                assertChannelType(expected.toChannelType(), actual.toChannelType());
+                assertConfigDescription(expected.getConfigDescription(), actual.getConfigDescription());
+                count++;
+            }
+        }
+        assertEquals(4, count);
+    }
+
+    @Test
+    void sameChannelGroupTypes() throws Exception {
+        int count = 0;
+        for (int i = 0; i < xstreamResults.size(); i++) {
+            if (xstreamResults.get(i) instanceof ChannelGroupTypeXmlResult expected) {
+                ChannelGroupTypeXmlResult actual = (ChannelGroupTypeXmlResult) staxResults.get(i);
+                assertChannelGroupType(expected.toChannelGroupType(), actual.toChannelGroupType());
+                count++;
+            }
+        }
+        assertEquals(1, count);
+    }
+
+    @Test
+    void emptyOptionLabelIsNull() {
+        ChannelType channelType = staxResults.stream().filter(ChannelTypeXmlResult.class::isInstance)
+            .map(result -> ((ChannelTypeXmlResult) result).toChannelType())
+            .filter(type -> "mode".equals(type.getUID().getId())).findFirst().orElseThrow();
+        StateDescription state = Objects.requireNonNull(channelType.getState());
+        assertNull(state.getOptions().get(1).getLabel());
+        assertEquals("On", state.getOptions().get(2).getLabel());
+    }
+
+    private static void assertThingType(ThingType expected, ThingType actual) {
+        String id = expected.getUID().toString();
+        assertEquals(expected.getClass(), actual.getClass(), id);
+        assertEquals(expected.getUID(), actual.getUID(), id);
+        assertEquals(expected.getLabel(), actual.getLabel(), id);
+        assertEquals(expected.getDescription(), actual.getDescription(), id);
+        assertEquals(expected.getCategory(), actual.getCategory(), id);
+        assertEquals(expected.isListed(), actual.isListed(), id);
+        assertEquals(expected.getSupportedBridgeTypeUIDs(), actual.getSupportedBridgeTypeUIDs(), id);
+        assertEquals(expected.getExtensibleChannelTypeIds(), actual.getExtensibleChannelTypeIds(), id);
+        assertEquals(expected.getRepresentationProperty(), actual.getRepresentationProperty(), id);
+        assertEquals(expected.getProperties(), actual.getProperties(), id);
+        assertEquals(expected.getConfigDescriptionURI(), actual.getConfigDescriptionURI(), id);
+        assertEquals(expected instanceof BridgeType, actual instanceof BridgeType, id);
+        assertChannelDefinitions(id, expected.getChannelDefinitions(), actual.getChannelDefinitions());
+        assertList(id + " channel groups", expected.getChannelGroupDefinitions(), actual.getChannelGroupDefinitions(),
+            StaxThingDescriptionReaderTest::describe);
+    }
+
+    private static void assertChannelType(ChannelType expected, ChannelType actual) {
+        String id = expected.getUID().toString();
+        assertEquals(expected.getUID(), actual.getUID(), id);
+        assertEquals(expected.getKind(), actual.getKind(), id);
+        assertEquals(expected.getItemType(), actual.getItemType(), id);
+        assertEquals(expected.getUnitHint(), actual.getUnitHint(), id);
+        assertEquals(expected.getLabel(), actual.getLabel(), id);
+        assertEquals(expected.getDescription(), actual.getDescription(), id);
+        assertEquals(expected.getCategory(), actual.getCategory(), id);
+        assertEquals(expected.getTags(), actual.getTags(), id);
+        assertEquals(expected.isAdvanced(), actual.isAdvanced(), id);
+        assertEquals(expected.getAutoUpdatePolicy(), actual.getAutoUpdatePolicy(), id);
+        assertEquals(expected.getConfigDescriptionURI(), actual.getConfigDescriptionURI(), id);
+        assertEquals(describe(expected.getState()), describe(actual.getState()), id);
+        assertEquals(describe(expected.getCommandDescription()), describe(actual.getCommandDescription()), id);
+        assertEquals(describe(expected.getEvent()), describe(actual.getEvent()), id);
+    }
+
+    private static void assertChannelGroupType(ChannelGroupType expected, ChannelGroupType actual) {
+        String id = expected.getUID().toString();
+        assertEquals(expected.getUID(), actual.getUID(), id);
+        assertEquals(expected.getLabel(), actual.getLabel(), id);
+        assertEquals(expected.getDescription(), actual.getDescription(), id);
+        assertEquals(expected.getCategory(), actual.getCategory(), id);
+        assertChannelDefinitions(id, expected.getChannelDefinitions(), actual.getChannelDefinitions());
+    }
+
+    private static void assertChannelDefinitions(String id, List<ChannelDefinition> expected,
+            List<ChannelDefinition> actual) {
+        assertList(id + " channels", expected, actual, StaxThingDescriptionReaderTest::describe);
+    }
+
+    private static void assertConfigDescription(ConfigDescription expected, ConfigDescription actual) {
+        String id = expected.getUID().toString();
+        assertEquals(expected.getUID(), actual.getUID(), id);
+        assertList(id + " parameters", expected.getParameters(), actual.getParameters(),
+            StaxThingDescriptionReaderTest::describe);
+        assertList(id + " parameter groups", expected.getParameterGroups(), actual.getParameterGroups(),
+            StaxThingDescriptionReaderTest::describe);
+    }
+
+    private static <T> void assertList(String message, List<T> expected, List<T> actual,
+            Function<T, List<Object>> describer) {
+        assertEquals(expected.size(), actual.size(), message);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(describer.apply(expected.get(i)), describer.apply(actual.get(i)), message + " " + i);
+        }
+    }
+
+    private static List<Object> describe(ChannelDefinition definition) {
+        return List.of(definition.getId(), definition.getChannelTypeUID(), nullable(definition.getLabel()),
+            nullable(definition.getDescription()), definition.getProperties(),
+            nullable(definition.getAutoUpdatePolicy()));
+    }
+
+    private static List<Object> describe(ChannelGroupDefinition definition) {
+        return List.of(definition.getId(), definition.getTypeUID(), nullable(definition.getLabel()),
+            nullable(definition.getDescription()));
+    }
+
+    private static List<Object> describe(ConfigDescriptionParameter parameter) {
+        return List.of(parameter.getName(), parameter.getType(), nullable(parameter.getGroupName()),
+            nullable(parameter.getLabel()), nullable(parameter.getDescription()), nullable(parameter.getContext()),
+            nullable(parameter.getDefault()), nullable(parameter.getPattern()), nullable(parameter.getUnit()),
+            nullable(parameter.getUnitLabel()), nullable(parameter.getMinimum()), nullable(parameter.getMaximum()),
+            nullable(parameter.getStepSize()), parameter.isRequired(), parameter.isReadOnly(),
+            parameter.isMultiple(), parameter.isAdvanced(), parameter.isVerifyable(), parameter.getLimitToOptions(),
+            nullable(parameter.getMultipleLimit()),
+            parameter.getOptions().stream().map(option -> option.getValue() + "=" + option.getLabel()).toList(),
+            parameter.getFilterCriteria().stream().map(criteria -> criteria.getName() + "=" + criteria.getValue())
+                .toList());
+    }
+
+    private static List<Object> describe(ConfigDescriptionParameterGroup group) {
+        return List.of(group.getName(), nullable(group.getContext()), group.isAdvanced(), nullable(group.getLabel()),
+            nullable(group.getDescription()));
+    }
+
+    private static List<Object> describe(@Nullable StateDescription state) {
+        if (state == null) {
+            return List.of();
+        }
+        return List.of(nullable(state.getMinimum()), nullable(state.getMaximum()), nullable(state.getStep()),
+            nullable(state.getPattern()), state.isReadOnly(),
+            state.getOptions().stream().map(option -> option.getValue() + "=" + option.getLabel()).toList());
+    }
+
+    private static List<Object> describe(@Nullable CommandDescription command) {
+        if (command == null) {
+            return List.of();
+        }
+        return List.of(command.getCommandOptions().stream()
+            .map(option -> option.getCommand() + "=" + option.getLabel()).toList());
+    }
+
+    private static List<Object> describe(@Nullable EventDescription event) {
+        if (event == null) {
+            return List.of();
+        }
+        return List.of(
+            event.getOptions().stream().map(option -> option.getValue() + "=" + option.getLabel()).toList());
+    }
+
+    /**
+     * {@link List#of} doesn't accept {@code null}, so {@code null} values are described by a marker.
+     */
+    private static Object nullable(@Nullable Object value) {
+        return value == null ? "<null>" : value;
+    }
+}
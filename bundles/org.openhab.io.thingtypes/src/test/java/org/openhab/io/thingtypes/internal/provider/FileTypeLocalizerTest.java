@@ -0,0 +1,158 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeBuilder;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.core.thing.type.ThingTypeBuilder;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Shard;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Snapshot;
+
+/**
+ * Tests how {@link FileTypeLocalizer} merges the entries of several translation files, and caches translated types.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class FileTypeLocalizerTest {
+
+    private static final String KEY = "channel-group-type.test.group.label";
+    private static final Path FIRST = Path.of("thingtypes", "a_de.properties");
+    private static final Path SECOND = Path.of("thingtypes", "b_de.properties");
+
+    private final FileTypeLocalizer localizer = new FileTypeLocalizer();
+    private final ChannelGroupType group = ChannelGroupTypeBuilder
+        .instance(new ChannelGroupTypeUID("test", "group"), "Group").build();
+
+    private String label() {
+        return localizer.localize(group, Locale.GERMAN).getLabel();
+    }
+
+    @Test
+    void translates() {
+        assertEquals("Group", label());
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        assertEquals("Gruppe", label());
+        assertEquals("Group", localizer.localize(group, Locale.FRENCH).getLabel());
+    }
+
+    @Test
+    void lastFileInPathOrderWins() {
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of(KEY, "Zweite"));
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Erste"));
+        assertEquals("Zweite", label());
+    }
+
+    @Test
+    void removingFileRestoresEntryOfOtherFile() {
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Erste"));
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of(KEY, "Zweite"));
+        assertEquals("Zweite", label());
+        localizer.removeTranslations(SECOND);
+        assertEquals("Erste", label());
+        localizer.removeTranslations(FIRST);
+        assertEquals("Group", label());
+        assertFalse(localizer.hasTranslations(Locale.GERMAN));
+    }
+
+    @Test
+    void removingFileKeepsIdenticalEntryOfOtherFile() {
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        localizer.removeTranslations(FIRST);
+        assertEquals("Gruppe", label());
+    }
+
+    @Test
+    void changedFileRestoresEntryOfOtherFile() {
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Erste"));
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of(KEY, "Zweite"));
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of("channel-group-type.test.group.description", "-"));
+        assertEquals("Erste", label());
+    }
+
+    @Test
+    void unchangedFileKeepsCachedTranslation() {
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        ChannelGroupType translated = localizer.localize(group, Locale.GERMAN);
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        assertSame(translated, localizer.localize(group, Locale.GERMAN));
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Neue Gruppe"));
+        assertNotSame(translated, localizer.localize(group, Locale.GERMAN));
+        assertEquals("Neue Gruppe", label());
+    }
+
+    @Test
+    void retainRemovesOtherFiles() {
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Erste"));
+        localizer.replaceTranslations(SECOND, Locale.GERMAN, Map.of(KEY, "Zweite"));
+        localizer.retainTranslations(List.of(FIRST));
+        assertEquals("Erste", label());
+        assertEquals(List.of(FIRST), localizer.getTranslationFiles(Path.of("thingtypes")));
+    }
+
+    @Test
+    void bulkTranslationsAreCachedPerShard() {
+        Shard shard = new Shard(Map.of(), Map.of(), Map.of(group.getUID(), group), Map.of());
+        Snapshot snapshot = new Snapshot(Map.of("test", shard), PropertyIndex.EMPTY);
+        assertSame(snapshot.getChannelGroupTypes().iterator().next(),
+            localizer.localizeChannelGroupTypes(snapshot, Locale.GERMAN).iterator().next());
+
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Gruppe"));
+        Collection<ChannelGroupType> translated = localizer.localizeChannelGroupTypes(snapshot, Locale.GERMAN);
+        assertEquals("Gruppe", translated.iterator().next().getLabel());
+        assertSame(translated.iterator().next(),
+            localizer.localizeChannelGroupTypes(snapshot, Locale.GERMAN).iterator().next());
+
+        // A replaced shard is translated again
+        Shard replaced = new Shard(Map.of(), Map.of(), Map.of(group.getUID(), group), Map.of());
+        Snapshot next = new Snapshot(Map.of("test", replaced), PropertyIndex.EMPTY);
+        assertNotSame(translated.iterator().next(),
+            localizer.localizeChannelGroupTypes(next, Locale.GERMAN).iterator().next());
+
+        // So are changed translations
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of(KEY, "Neue Gruppe"));
+        assertEquals("Neue Gruppe", localizer.localizeChannelGroupTypes(next, Locale.GERMAN).iterator().next()
+            .getLabel());
+    }
+
+    @Test
+    void limitedThingTypesAreNotCached() {
+        ThingTypeUID uid = new ThingTypeUID("test", "thing");
+        ThingType thingType = ThingTypeBuilder.instance(uid, "Thing").build();
+        ThingTypeLimiter limiter = new ThingTypeLimiter();
+        LazyThingType limited = LazyThingType.limited(uid, Map.of(), () -> Map.of(uid, () -> thingType), limiter);
+        LazyThingType lazy = LazyThingType.lazy(uid, Map.of(), () -> thingType);
+        localizer.replaceTranslations(FIRST, Locale.GERMAN, Map.of("thing-type.test.thing.label", "Ding"));
+
+        ThingType translated = Objects.requireNonNull(localizer.localize(limited, Locale.GERMAN));
+        assertEquals("Ding", translated.getLabel());
+        assertNotSame(translated, localizer.localize(limited, Locale.GERMAN));
+
+        translated = Objects.requireNonNull(localizer.localize(lazy, Locale.GERMAN));
+        assertEquals("Ding", translated.getLabel());
+        assertSame(translated, localizer.localize(lazy, Locale.GERMAN));
+    }
+}
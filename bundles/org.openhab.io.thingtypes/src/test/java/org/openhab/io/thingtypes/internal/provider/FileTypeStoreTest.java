@@ -0,0 +1,171 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ChannelGroupType;
+import org.openhab.core.thing.type.ChannelGroupTypeBuilder;
+import org.openhab.core.thing.type.ChannelGroupTypeUID;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.provider.FileDefinitions.Definition;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Publisher;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Rehydrator;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Snapshot;
+
+/**
+ * Tests how {@link FileTypeStore} replaces the definitions of files and publishes {@link Snapshot}s.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class FileTypeStoreTest {
+
+    private static final Path FIRST = Path.of("thingtypes", "a.xml");
+    private static final Path SECOND = Path.of("thingtypes", "b.xml");
+    private static final Path OTHER = Path.of("other", "c.xml");
+    private static final ChannelGroupTypeUID GROUP_UID = new ChannelGroupTypeUID("first", "group");
+
+    private final FileTypeStore store = new FileTypeStore();
+
+    private static ChannelGroupType group(ChannelGroupTypeUID uid, String label) {
+        return ChannelGroupTypeBuilder.instance(uid, label).build();
+    }
+
+    private static FileDefinitions groups(ChannelGroupType... groups) {
+        Map<ChannelGroupTypeUID, Definition<ChannelGroupType>> definitions = new HashMap<>();
+        for (ChannelGroupType group : groups) {
+            definitions.put(group.getUID(), new Definition<>(group, null));
+        }
+        return new FileDefinitions(Map.of(), Map.of(), definitions, Map.of());
+    }
+
+    private static FileDefinitions thingType(ThingTypeUID uid, Map<String, String> properties) {
+        LazyThingType thingType = LazyThingType.lazy(uid, properties, () -> mock(ThingType.class));
+        return new FileDefinitions(Map.of(uid, new Definition<>(thingType, null)), Map.of(), Map.of(), Map.of());
+    }
+
+    @Test
+    void replaceKeepsPreviousSnapshot() {
+        Snapshot empty = store.getSnapshot();
+        ChannelGroupType group = group(GROUP_UID, "Group");
+        store.replace(FIRST, groups(group));
+        assertSame(group, store.getSnapshot().getChannelGroupType(GROUP_UID));
+        assertNull(empty.getChannelGroupType(GROUP_UID));
+        assertTrue(empty.shards().isEmpty());
+    }
+
+    @Test
+    void replaceRebuildsOnlyAffectedShards() {
+        store.replace(FIRST, groups(group(GROUP_UID, "Group")));
+        store.replace(SECOND, groups(group(new ChannelGroupTypeUID("second", "group"), "Second")));
+        Snapshot before = store.getSnapshot();
+        store.replace(FIRST, groups(group(GROUP_UID, "Changed")));
+        Snapshot after = store.getSnapshot();
+        assertNotSame(before, after);
+        assertSame(before.shards().get("second"), after.shards().get("second"));
+        assertNotSame(before.shards().get("first"), after.shards().get("first"));
+        assertEquals("Changed", Objects.requireNonNull(after.getChannelGroupType(GROUP_UID)).getLabel());
+    }
+
+    @Test
+    void unchangedDefinitionsKeepSnapshot() {
+        FileDefinitions definitions = groups(group(GROUP_UID, "Group"));
+        store.replace(FIRST, definitions);
+        Snapshot before = store.getSnapshot();
+        store.replace(FIRST, definitions);
+        assertSame(before, store.getSnapshot());
+    }
+
+    @Test
+    void removingDefinitionLetsFirstOtherFileTakeOver() {
+        ChannelGroupType first = group(GROUP_UID, "First");
+        ChannelGroupType second = group(GROUP_UID, "Second");
+        store.replace(FIRST, groups(first));
+        store.replace(SECOND, groups(second));
+        assertSame(second, store.getSnapshot().getChannelGroupType(GROUP_UID));
+        store.remove(SECOND);
+        assertSame(first, store.getSnapshot().getChannelGroupType(GROUP_UID));
+        store.remove(FIRST);
+        assertNull(store.getSnapshot().getChannelGroupType(GROUP_UID));
+        assertTrue(store.getSnapshot().shards().isEmpty());
+    }
+
+    @Test
+    void removeDirectoryAndRetainAll() {
+        store.replace(FIRST, groups(group(GROUP_UID, "First")));
+        store.replace(SECOND, groups(group(new ChannelGroupTypeUID("second", "group"), "Second")));
+        store.replace(OTHER, groups(group(new ChannelGroupTypeUID("other", "group"), "Other")));
+        store.retainAll(Set.of(FIRST, OTHER));
+        assertNull(store.get(SECOND));
+        assertEquals(Set.of("first", "other"), store.getSnapshot().shards().keySet());
+        assertEquals(List.of(FIRST), store.removeDirectory(Path.of("thingtypes")));
+        assertEquals(Set.of("other"), store.getSnapshot().shards().keySet());
+    }
+
+    @Test
+    void propertyIndexFollowsReplacements() {
+        ThingTypeUID uid = new ThingTypeUID("first", "thing");
+        store.replace(FIRST, thingType(uid, Map.of("vendor", "acme")));
+        assertEquals(Set.of(uid), store.getSnapshot().propertyIndex().get("vendor", "acme"));
+        store.replace(FIRST, thingType(uid, Map.of("vendor", "other")));
+        assertEquals(Set.of(), store.getSnapshot().propertyIndex().get("vendor", "acme"));
+        assertEquals(Set.of(uid), store.getSnapshot().propertyIndex().get("vendor", "other"));
+        store.remove(FIRST);
+        assertEquals(Set.of(), store.getSnapshot().propertyIndex().get("vendor", "other"));
+    }
+
+    @Test
+    void stalePublisherDoesNothing() {
+        Publisher stale = store.newPublisher();
+        Publisher current = store.newPublisher();
+        assertFalse(stale.isCurrent());
+        assertFalse(stale.replace(FIRST, groups(group(GROUP_UID, "Stale"))));
+        assertNull(stale.removeDirectory(Path.of("thingtypes")));
+        assertSame(Snapshot.EMPTY, store.getSnapshot());
+        assertTrue(current.replace(FIRST, groups(group(GROUP_UID, "Current"))));
+        current.close();
+        assertFalse(current.isCurrent());
+        assertFalse(current.remove(FIRST));
+        assertNotNull(store.getSnapshot().getChannelGroupType(GROUP_UID));
+    }
+
+    @Test
+    void sourceUsesCurrentRehydrator() throws Exception {
+        Map<ThingTypeUID, Callable<ThingType>> first = new HashMap<>();
+        Map<ThingTypeUID, Callable<ThingType>> second = new HashMap<>();
+        Rehydrator firstRehydrator = path -> first;
+        Rehydrator secondRehydrator = path -> second;
+        LazyThingType.Source source = store.newSource(FIRST);
+        assertEquals(source, store.newSource(FIRST));
+        assertNotEquals(source, store.newSource(SECOND));
+        assertThrows(IllegalStateException.class, source::read);
+        store.setRehydrator(firstRehydrator);
+        assertSame(first, source.read());
+        store.setRehydrator(secondRehydrator);
+        store.removeRehydrator(firstRehydrator);
+        assertSame(second, source.read());
+        store.removeRehydrator(secondRehydrator);
+        assertThrows(IllegalStateException.class, source::read);
+    }
+}
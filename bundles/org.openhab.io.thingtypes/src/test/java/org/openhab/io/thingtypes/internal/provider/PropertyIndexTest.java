@@ -0,0 +1,91 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingTypeUID;
+
+/**
+ * Tests the updates and lookups of {@link PropertyIndex}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PropertyIndexTest {
+
+    private static final ThingTypeUID FIRST = new ThingTypeUID("test", "first");
+    private static final ThingTypeUID SECOND = new ThingTypeUID("test", "second");
+
+    private final Map<ThingTypeUID, Map<String, String>> properties = new HashMap<>();
+
+    /**
+     * Updates the index to the new properties of {@code uid}, like the store does when a type is replaced.
+     */
+    private PropertyIndex update(PropertyIndex index, ThingTypeUID uid,
+            @Nullable Map<String, String> newProperties) {
+        Map<ThingTypeUID, Map<String, String>> old = new HashMap<>(properties);
+        if (newProperties == null) {
+            properties.remove(uid);
+        } else {
+            properties.put(uid, newProperties);
+        }
+        return index.update(old::get, properties::get, List.of(uid));
+    }
+
+    @Test
+    void addsAndRemovesTypes() {
+        PropertyIndex index = update(PropertyIndex.EMPTY, FIRST, Map.of("vendor", "acme", "model", "one"));
+        index = update(index, SECOND, Map.of("vendor", "acme", "model", "two"));
+        assertEquals(Set.of(FIRST, SECOND), index.get("vendor", "acme"));
+        assertEquals(Set.of(SECOND), index.get("model", "two"));
+
+        index = update(index, FIRST, null);
+        assertEquals(Set.of(SECOND), index.get("vendor", "acme"));
+        assertEquals(Set.of(), index.get("model", "one"));
+        assertTrue(PropertyIndex.EMPTY.get("vendor", "acme").isEmpty());
+    }
+
+    @Test
+    void changedValueMovesType() {
+        PropertyIndex index = update(PropertyIndex.EMPTY, FIRST, Map.of("vendor", "acme"));
+        PropertyIndex changed = update(index, FIRST, Map.of("vendor", "other"));
+        assertEquals(Set.of(), changed.get("vendor", "acme"));
+        assertEquals(Set.of(FIRST), changed.get("vendor", "other"));
+        // The previous instance is unchanged
+        assertEquals(Set.of(FIRST), index.get("vendor", "acme"));
+    }
+
+    @Test
+    void unchangedPropertiesReturnSameInstance() {
+        PropertyIndex index = update(PropertyIndex.EMPTY, FIRST, Map.of("vendor", "acme"));
+        assertSame(index, index.update(uid -> null, uid -> null, List.of(SECOND)));
+        assertSame(index, index.update(properties::get, properties::get, List.of()));
+    }
+
+    @Test
+    void matchesAllProperties() {
+        PropertyIndex index = update(PropertyIndex.EMPTY, FIRST, Map.of("vendor", "acme", "model", "one"));
+        index = update(index, SECOND, Map.of("vendor", "acme", "model", "two"));
+        assertEquals(Set.of(FIRST), index.get(Map.of("vendor", "acme", "model", "one")));
+        assertEquals(Set.of(FIRST, SECOND), index.get(Map.of("vendor", "acme")));
+        assertEquals(Set.of(), index.get(Map.of("vendor", "acme", "model", "three")));
+        assertEquals(Set.of(), index.get(Map.of()));
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.provider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ThingType;
+
+/**
+ * Tests {@link ThingTypeLimiter} together with {@link LazyThingType}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class ThingTypeLimiterTest {
+
+    private final ThingTypeLimiter limiter = new ThingTypeLimiter();
+    private final AtomicInteger created = new AtomicInteger();
+
+    private LazyThingType limited(String id) {
+        ThingTypeUID uid = new ThingTypeUID("test", id);
+        return LazyThingType.limited(uid, Map.of(), () -> Map.of(uid, () -> {
+            created.incrementAndGet();
+            return mock(ThingType.class);
+        }), limiter);
+    }
+
+    @Test
+    void evictsBeyondMaximum() {
+        limiter.setMaximum(2);
+        LazyThingType first = limited("first");
+        LazyThingType second = limited("second");
+        LazyThingType third = limited("third");
+        first.get();
+        second.get();
+        third.get();
+        assertFalse(first.isMaterialized());
+        assertTrue(second.isMaterialized());
+        assertTrue(third.isMaterialized());
+        assertEquals(3, limiter.getMisses());
+        assertEquals(1, limiter.getEvictions());
+    }
+
+    @Test
+    void requestedTypesGetAnotherRound() {
+        limiter.setMaximum(2);
+        LazyThingType first = limited("first");
+        LazyThingType second = limited("second");
+        LazyThingType third = limited("third");
+        first.get();
+        second.get();
+        // Every type is referenced when it's created, so the third type clears both flags and evicts the oldest
+        third.get();
+        assertFalse(first.isMaterialized());
+        second.get();
+        first.get();
+        assertTrue(first.isMaterialized());
+        assertTrue(second.isMaterialized());
+        assertFalse(third.isMaterialized());
+        assertEquals(1, limiter.getHits());
+    }
+
+    @Test
+    void loweringMaximumEvicts() {
+        LazyThingType first = limited("first");
+        LazyThingType second = limited("second");
+        first.get();
+        second.get();
+        limiter.setMaximum(1);
+        assertEquals(1, (first.isMaterialized() ? 1 : 0) + (second.isMaterialized() ? 1 : 0));
+        assertEquals(1, limiter.getEvictions());
+    }
+
+    @Test
+    void transientRequestsDontEvict() {
+        limiter.setMaximum(1);
+        LazyThingType first = limited("first");
+        LazyThingType second = limited("second");
+        first.get();
+        assertNotNull(second.getTransient(new HashMap<>()));
+        assertNotNull(first.getTransient(new HashMap<>()));
+        assertTrue(first.isMaterialized());
+        assertFalse(second.isMaterialized());
+        assertEquals(0, limiter.getEvictions());
+        assertEquals(1, limiter.getMisses());
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    void enumerationReadsSourceOnce() {
+        limiter.setMaximum(1);
+        ThingTypeUID firstUID = new ThingTypeUID("test", "first");
+        ThingTypeUID secondUID = new ThingTypeUID("test", "second");
+        AtomicInteger reads = new AtomicInteger();
+        LazyThingType.Source source = () -> {
+            reads.incrementAndGet();
+            return Map.of(firstUID, () -> mock(ThingType.class), secondUID, () -> mock(ThingType.class));
+        };
+        LazyThingType first = LazyThingType.limited(firstUID, Map.of(), source, limiter);
+        LazyThingType second = LazyThingType.limited(secondUID, Map.of(), source, limiter);
+        Map<LazyThingType.Source, Map<ThingTypeUID, Callable<ThingType>>> read = new HashMap<>();
+        assertNotNull(first.getTransient(read));
+        assertNotNull(second.getTransient(read));
+        assertEquals(1, reads.get());
+        assertNotNull(first.get());
+        assertEquals(2, reads.get());
+        assertNull(LazyThingType.limited(new ThingTypeUID("test", "removed"), Map.of(), source, limiter)
+            .getTransient(read));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void removedWhileCreatingIsNotTracked() throws Exception {
+        limiter.setMaximum(1);
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        ThingTypeUID uid = new ThingTypeUID("test", "slow");
+        LazyThingType slow = LazyThingType.limited(uid, Map.of(), () -> {
+            creating.countDown();
+            assertTrue(removed.await(10, TimeUnit.SECONDS));
+            return Map.of(uid, () -> mock(ThingType.class));
+        }, limiter);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executor.submit(slow::get);
+            assertTrue(creating.await(10, TimeUnit.SECONDS));
+            limiter.remove(slow);
+            removed.countDown();
+            future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse(slow.isMaterialized());
+
+        // The removed type doesn't occupy the only slot
+        LazyThingType other = limited("other");
+        other.get();
+        assertTrue(other.isMaterialized());
+        assertEquals(0, limiter.getEvictions());
+    }
+
+    @Test
+    void concurrentRequestsStayWithinMaximum() throws Exception {
+        limiter.setMaximum(10);
+        LazyThingType[] thingTypes = new LazyThingType[50];
+        for (int i = 0; i < thingTypes.length; i++) {
+            thingTypes[i] = limited("type" + i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int t = 0; t < futures.length; t++) {
+                int seed = t;
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        assertNotNull(thingTypes[(i * 7 + seed) % thingTypes.length].get());
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        int materialized = 0;
+        for (LazyThingType thingType : thingTypes) {
+            if (thingType.isMaterialized()) {
+                materialized++;
+            }
+        }
+        assertTrue(materialized <= 10, "materialized " + materialized);
+        assertEquals(40000, limiter.getHits() + limiter.getMisses());
+        assertEquals(created.get(), limiter.getMisses());
+    }
+}
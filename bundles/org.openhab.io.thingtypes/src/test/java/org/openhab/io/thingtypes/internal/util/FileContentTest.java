@@ -0,0 +1,56 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests {@link FileContent} and {@link FileState#digest(byte[])}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class FileContentTest {
+
+    private @TempDir @Nullable Path folder;
+
+    @Test
+    void stateDescribesContent() throws Exception {
+        Path file = Objects.requireNonNull(folder).resolve("test.xml");
+        Files.writeString(file, "<thing-descriptions/>", StandardCharsets.UTF_8);
+        FileContent content = FileContent.read(file);
+        assertArrayEquals(Files.readAllBytes(file), content.bytes());
+        assertEquals(content.bytes().length, content.state().size());
+        assertEquals(Files.getLastModifiedTime(file).toMillis(), content.state().lastModified());
+        assertEquals(FileState.digest(content.bytes()), content.state().digest());
+    }
+
+    @Test
+    void digest() {
+        byte[] data = "<thing-descriptions/>".getBytes(StandardCharsets.UTF_8);
+        assertEquals(16, FileState.digest(data).length());
+        assertEquals(FileState.digest(data), FileState.digest(data.clone()));
+        byte[] changed = data.clone();
+        changed[1]++;
+        assertNotEquals(FileState.digest(data), FileState.digest(changed));
+        assertEquals("0000000000000000", FileState.digest(new byte[0]));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link PathEventCoalescer} releases each path once after its quiet period.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PathEventCoalescerTest {
+
+    private static final long QUIET_PERIOD = 100L;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final BlockingQueue<Path> released = new LinkedBlockingQueue<>();
+    private final PathEventCoalescer coalescer = new PathEventCoalescer(scheduler, QUIET_PERIOD, released::add);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void repeatedEventsReleasePathOnce() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        for (int i = 0; i < 10; i++) {
+            coalescer.add(path);
+        }
+        assertEquals(path, take());
+        assertNull(released.poll(3 * QUIET_PERIOD, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void eventRestartsQuietPeriod() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        long start = System.nanoTime();
+        coalescer.add(path);
+        Thread.sleep(QUIET_PERIOD / 2);
+        coalescer.add(path);
+        assertEquals(path, take());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(QUIET_PERIOD * 3 / 2));
+        assertTrue(released.isEmpty());
+    }
+
+    @Test
+    void releasesPathsInDeadlineOrder() throws InterruptedException {
+        Path first = Path.of("a.xml");
+        Path second = Path.of("b.xml");
+        coalescer.add(first);
+        coalescer.add(second);
+        coalescer.add(first);
+        assertEquals(List.of(second, first), List.of(take(), take()));
+    }
+
+    @Test
+    void cancelDiscardsPendingPaths() throws InterruptedException {
+        coalescer.add(Path.of("a.xml"));
+        coalescer.cancel();
+        assertNull(released.poll(3 * QUIET_PERIOD, TimeUnit.MILLISECONDS));
+
+        // The coalescer can still be used after a cancel
+        coalescer.add(Path.of("b.xml"));
+        assertEquals(Path.of("b.xml"), take());
+    }
+
+    private Path take() throws InterruptedException {
+        return Objects.requireNonNull(released.poll(5, TimeUnit.SECONDS), "No path was released in time");
+    }
+}
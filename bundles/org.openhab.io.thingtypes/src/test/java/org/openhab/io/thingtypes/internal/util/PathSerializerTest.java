@@ -0,0 +1,264 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.internal.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link PathSerializer}, including a stress test with many threads submitting the same paths.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public class PathSerializerTest {
+
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicReference<@Nullable Throwable> uncaught = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Runs the tasks on {@link #pool}, keeping track of the tasks that haven't completed, and of exceptions that
+     * escape them.
+     */
+    private void execute(Runnable command) {
+        pending.incrementAndGet();
+        try {
+            pool.execute(() -> {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    // Thrown by the consumer on purpose in some tests
+                } catch (Throwable e) {
+                    uncaught.set(e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (pending.get() > 0) {
+            assertTrue(System.nanoTime() < deadline, "The submitted paths weren't processed in time");
+            Thread.sleep(5);
+        }
+        assertNull(uncaught.get());
+    }
+
+    @Test
+    void processesSubmittedPath() throws InterruptedException {
+        List<Path> processed = new CopyOnWriteArrayList<>();
+        PathSerializer serializer = new PathSerializer(this::execute, processed::add, false);
+        serializer.submit(Path.of("a.xml"));
+        awaitIdle();
+        assertEquals(List.of(Path.of("a.xml")), processed);
+    }
+
+    @Test
+    void collectsPathsWhileHeld() throws InterruptedException {
+        List<Path> processed = new CopyOnWriteArrayList<>();
+        PathSerializer serializer = new PathSerializer(this::execute, processed::add, true);
+        serializer.submit(Path.of("a.xml"));
+        serializer.submit(Path.of("b.xml"));
+        serializer.submit(Path.of("a.xml"));
+        awaitIdle();
+        assertTrue(processed.isEmpty());
+        serializer.release();
+        awaitIdle();
+        assertEquals(2, processed.size());
+        assertTrue(processed.containsAll(List.of(Path.of("a.xml"), Path.of("b.xml"))));
+    }
+
+    @Test
+    void submitWhileRunningProcessesOnceMore() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        PathSerializer serializer = new PathSerializer(this::execute, p -> {
+            if (runs.incrementAndGet() == 1) {
+                running.countDown();
+                awaitLatch(proceed);
+            }
+        }, false);
+        serializer.submit(path);
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        // Several submits while running result in a single rerun
+        serializer.submit(path);
+        serializer.submit(path);
+        proceed.countDown();
+        awaitIdle();
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void rerunIsHonoredAfterFailure() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        PathSerializer serializer = new PathSerializer(this::execute, p -> {
+            if (runs.incrementAndGet() == 1) {
+                running.countDown();
+                awaitLatch(proceed);
+                throw new IllegalStateException("Failed on purpose");
+            }
+        }, false);
+        serializer.submit(path);
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        serializer.submit(path);
+        proceed.countDown();
+        awaitIdle();
+        assertEquals(2, runs.get());
+
+        // The path isn't stuck
+        serializer.submit(path);
+        awaitIdle();
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    void failureWithoutRerunClearsState() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        AtomicInteger runs = new AtomicInteger();
+        PathSerializer serializer = new PathSerializer(this::execute, p -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("Failed on purpose");
+        }, false);
+        serializer.submit(path);
+        awaitIdle();
+        serializer.submit(path);
+        awaitIdle();
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void rejectedSubmitClearsState() throws InterruptedException {
+        Path path = Path.of("a.xml");
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger(1);
+        PathSerializer serializer = new PathSerializer(command -> {
+            if (rejections.getAndDecrement() > 0) {
+                throw new RejectedExecutionException("Rejected on purpose");
+            }
+            execute(command);
+        }, p -> runs.incrementAndGet(), false);
+        assertThrows(RejectedExecutionException.class, () -> serializer.submit(path));
+        serializer.submit(path);
+        awaitIdle();
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void stress() throws Exception {
+        int pathCount = 8;
+        int submitters = 4;
+        int submitsPerThread = 20000;
+        List<Path> paths = new ArrayList<>();
+        Map<Path, AtomicInteger> active = new ConcurrentHashMap<>();
+        Map<Path, AtomicLong> submitted = new ConcurrentHashMap<>();
+        Map<Path, AtomicLong> lastSeen = new ConcurrentHashMap<>();
+        for (int i = 0; i < pathCount; i++) {
+            Path path = Path.of("file" + i + ".xml");
+            paths.add(path);
+            active.put(path, new AtomicInteger());
+            submitted.put(path, new AtomicLong());
+            lastSeen.put(path, new AtomicLong());
+        }
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger runs = new AtomicInteger();
+        PathSerializer serializer = new PathSerializer(this::execute, path -> {
+            if (active.get(path).incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            // Like the real consumer, this reads the current state and not the state at the time of the submit
+            lastSeen.get(path).set(submitted.get(path).get());
+            if (runs.incrementAndGet() % 97 == 0) {
+                active.get(path).decrementAndGet();
+                throw new IllegalStateException("Failed on purpose");
+            }
+            Thread.yield();
+            active.get(path).decrementAndGet();
+        }, true);
+
+        ExecutorService submitterPool = Executors.newFixedThreadPool(submitters);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < submitters; t++) {
+                futures.add(submitterPool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < submitsPerThread; i++) {
+                        Path path = paths.get(random.nextInt(pathCount));
+                        submitted.get(path).incrementAndGet();
+                        serializer.submit(path);
+                    }
+                }));
+                if (t == 0) {
+                    // Release while the others are submitting
+                    serializer.release();
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            submitterPool.shutdownNow();
+        }
+        awaitIdle();
+
+        assertEquals(0, overlaps.get(), "A path was processed by more than one thread at a time");
+        for (Path path : paths) {
+            // The last change always wins, also when a run failed
+            assertEquals(submitted.get(path).get(), lastSeen.get(path).get(), path.toString());
+        }
+        assertTrue(runs.get() <= submitters * submitsPerThread);
+    }
+
+    private static void awaitLatch(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
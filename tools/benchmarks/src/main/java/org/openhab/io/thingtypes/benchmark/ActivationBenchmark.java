@@ -0,0 +1,89 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.thingtypes.benchmark.BenchmarkSupport.ScanningFileProcessor;
+import org.openhab.io.thingtypes.internal.FileProcessor;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.copied.ThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures activating and deactivating the add-on when the {@value FileProcessor#FOLDER_NAME} folder is absent or
+ * empty, which is the case for most installations. Run it with {@code -prof gc} to see the allocation per
+ * activation.
+ * <p>
+ * The {@code createReader} benchmark measures creating an XStream based reader, which every activation did before
+ * the reader was created on the first file. It doesn't depend on the folder.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActivationBenchmark {
+
+    @Param({ "absent", "empty" })
+    public String folder = "absent";
+
+    private Path configFolder = Path.of("");
+
+    @Setup
+    public void setup() throws IOException {
+        configFolder = Files.createTempDirectory("thingtypes-activation");
+        if ("empty".equals(folder)) {
+            Files.createDirectory(configFolder.resolve(FileProcessor.FOLDER_NAME));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(configFolder.resolve(FileProcessor.FOLDER_NAME));
+        Files.deleteIfExists(configFolder);
+    }
+
+    @Benchmark
+    public FileTypeStore activateIdle() {
+        FileTypeStore store = new FileTypeStore();
+        ScanningFileProcessor processor = BenchmarkSupport.createProcessor(configFolder, store,
+            new FileTypeLocalizer(), BenchmarkSupport.createConfig(ThingTypesConfiguration.PARSER_XSTREAM, true, 0));
+        processor.deactivate();
+        return store;
+    }
+
+    @Benchmark
+    public ThingDescriptionReader createReader() {
+        return new ThingDescriptionReader();
+    }
+}
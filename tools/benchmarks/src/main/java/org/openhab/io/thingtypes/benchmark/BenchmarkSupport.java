@@ -0,0 +1,294 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.service.WatchService;
+import org.openhab.io.thingtypes.internal.FileProcessor;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+
+/**
+ * Shared setup for the benchmarks, which run outside of OSGi against the corpus generated by
+ * {@code tools/corpus-generator}.
+ * <p>
+ * The corpus folder is read from the {@value #CORPUS_PROPERTY} system property, and defaults to the corpus generated
+ * by the Maven build with the {@code benchmarks} profile. The folder is used as the openHAB configuration folder, so
+ * the files must be in its {@value FileProcessor#FOLDER_NAME} subfolder. Benchmarks that need a corpus of a
+ * particular size generate it with {@link #getCorpusFolder(int, int)}, using the generator source file given by
+ * {@value #GENERATOR_PROPERTY}.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public final class BenchmarkSupport {
+
+    /** The system property that specifies the corpus folder */
+    public static final String CORPUS_PROPERTY = "thingtypes.corpus";
+
+    /** The corpus folder used if {@value #CORPUS_PROPERTY} isn't set */
+    public static final String DEFAULT_CORPUS = "target/corpus";
+
+    /** The system property that specifies the corpus generator source file */
+    public static final String GENERATOR_PROPERTY = "thingtypes.generator";
+
+    /** The corpus generator source file used if {@value #GENERATOR_PROPERTY} isn't set */
+    public static final String DEFAULT_GENERATOR = "../corpus-generator/ThingTypeCorpusGenerator.java";
+
+    /** The seed of the generated corpora */
+    public static final long CORPUS_SEED = 42L;
+
+    private static final String USERDATA_PROPERTY = "openhab.userdata";
+
+    private BenchmarkSupport() {
+        // Not to be instantiated
+    }
+
+    /**
+     * @return The corpus folder, which contains the {@value FileProcessor#FOLDER_NAME} folder.
+     * @throws IllegalStateException If the corpus doesn't exist.
+     */
+    public static Path getCorpusFolder() {
+        Path folder = Path.of(System.getProperty(CORPUS_PROPERTY, DEFAULT_CORPUS)).toAbsolutePath();
+        if (!Files.isDirectory(folder.resolve(FileProcessor.FOLDER_NAME))) {
+            throw new IllegalStateException("No corpus found in \"" + folder.resolve(FileProcessor.FOLDER_NAME) +
+                "\", build the benchmarks with -Pbenchmarks or set -D" + CORPUS_PROPERTY);
+        }
+        return folder;
+    }
+
+    /**
+     * Returns a corpus with the specified number of files and thing types per file, generated in the {@code target}
+     * folder the first time it's requested.
+     *
+     * @param files the number of files.
+     * @param thingTypesPerFile the number of thing types per file.
+     * @return The corpus folder, which contains the {@value FileProcessor#FOLDER_NAME} folder.
+     * @throws IllegalStateException If the corpus can't be generated.
+     */
+    public static Path getCorpusFolder(int files, int thingTypesPerFile) {
+        Path folder = Path.of("target", "corpus-" + files + "x" + thingTypesPerFile).toAbsolutePath();
+        Path thingTypesFolder = folder.resolve(FileProcessor.FOLDER_NAME);
+        if (Files.isDirectory(thingTypesFolder)) {
+            return folder;
+        }
+        // Generate to a temporary folder first, so that an interrupted run doesn't leave an incomplete corpus
+        Path tempFolder = folder.resolveSibling(folder.getFileName() + ".tmp");
+        Path generator = Path.of(System.getProperty(GENERATOR_PROPERTY, DEFAULT_GENERATOR)).toAbsolutePath();
+        try {
+            deleteRecursively(tempFolder);
+            Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                generator.toString(), tempFolder.resolve(FileProcessor.FOLDER_NAME).toString(), "--files",
+                Integer.toString(files), "--thing-types", Integer.toString(thingTypesPerFile), "--seed",
+                Long.toString(CORPUS_SEED)).inheritIO().start();
+            if (process.waitFor() != 0) {
+                throw new IllegalStateException("Failed to generate a corpus with \"" + generator + "\", set -D" +
+                    GENERATOR_PROPERTY + " to the location of ThingTypeCorpusGenerator.java");
+            }
+            Files.move(tempFolder, folder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating a corpus", e);
+        }
+        return folder;
+    }
+
+    /**
+     * @return The XML files in the corpus, sorted by name.
+     */
+    public static List<Path> getCorpusFiles() {
+        try (Stream<Path> stream = Files.list(getCorpusFolder().resolve(FileProcessor.FOLDER_NAME))) {
+            return stream.filter(path -> path.getFileName().toString().endsWith(".xml")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Points the openHAB userdata folder, where the parse cache is stored, to a folder next to the corpus unless
+     * it's already set.
+     *
+     * @return The userdata folder.
+     */
+    public static Path initUserData() {
+        String userData = System.getProperty(USERDATA_PROPERTY);
+        if (userData == null) {
+            userData = Path.of(System.getProperty(CORPUS_PROPERTY, DEFAULT_CORPUS)).toAbsolutePath()
+                .resolveSibling("userdata").toString();
+            System.setProperty(USERDATA_PROPERTY, userData);
+        }
+        return Path.of(userData);
+    }
+
+    /**
+     * Deletes the parse cache, so that the next scan parses every file.
+     */
+    public static void deleteParseCache() {
+        try {
+            deleteRecursively(initUserData().resolve("cache").resolve(FileProcessor.CACHE_FOLDER_NAME));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteRecursively(Path folder) throws IOException {
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(folder)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Creates the configuration properties for a {@link FileProcessor}.
+     *
+     * @param parser the parser to use.
+     * @param parseCache {@code true} to use the parse cache, {@code false} otherwise.
+     * @param maxThingTypes the maximum number of thing types to hold in memory, {@code 0} means no limit.
+     * @return The configuration properties.
+     */
+    public static Map<String, Object> createConfig(String parser, boolean parseCache, int maxThingTypes) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("parser", parser);
+        result.put("parseCache", parseCache);
+        result.put("maxThingTypes", maxThingTypes);
+        return result;
+    }
+
+    /**
+     * Creates and activates a {@link ScanningFileProcessor} for the corpus. No scan is done until
+     * {@link ScanningFileProcessor#runScan()} is called.
+     *
+     * @param store the {@link FileTypeStore} to publish to.
+     * @param localizer the {@link FileTypeLocalizer} to use.
+     * @param config the configuration properties.
+     * @return The activated {@link ScanningFileProcessor}.
+     */
+    public static ScanningFileProcessor createProcessor(FileTypeStore store, FileTypeLocalizer localizer,
+            Map<String, Object> config) {
+        return createProcessor(getCorpusFolder(), store, localizer, config);
+    }
+
+    /**
+     * Creates and activates a {@link ScanningFileProcessor} for the specified corpus. No scan is done until
+     * {@link ScanningFileProcessor#runScan()} is called.
+     *
+     * @param corpusFolder the corpus folder, which contains the {@value FileProcessor#FOLDER_NAME} folder.
+     * @param store the {@link FileTypeStore} to publish to.
+     * @param localizer the {@link FileTypeLocalizer} to use.
+     * @param config the configuration properties.
+     * @return The activated {@link ScanningFileProcessor}.
+     */
+    public static ScanningFileProcessor createProcessor(Path corpusFolder, FileTypeStore store,
+            FileTypeLocalizer localizer, Map<String, Object> config) {
+        initUserData();
+        ScanningFileProcessor result = new ScanningFileProcessor(new CorpusWatchService(corpusFolder), store,
+            localizer);
+        result.activate(config);
+        return result;
+    }
+
+    /**
+     * Creates a {@link FileTypeStore} populated with the whole corpus. The processor that populated it is left
+     * active, since it creates the thing types that {@code maxThingTypes} evicts again. Its ingest threads stop when
+     * they have been idle for a while.
+     *
+     * @param config the configuration properties.
+     * @return The populated {@link FileTypeStore}.
+     */
+    public static FileTypeStore createPopulatedStore(Map<String, Object> config) {
+        return createPopulatedStore(getCorpusFolder(), config);
+    }
+
+    /**
+     * Creates a {@link FileTypeStore} populated with the whole of the specified corpus, like
+     * {@link #createPopulatedStore(Map)}.
+     *
+     * @param corpusFolder the corpus folder, which contains the {@value FileProcessor#FOLDER_NAME} folder.
+     * @param config the configuration properties.
+     * @return The populated {@link FileTypeStore}.
+     */
+    public static FileTypeStore createPopulatedStore(Path corpusFolder, Map<String, Object> config) {
+        FileTypeStore store = new FileTypeStore();
+        createProcessor(corpusFolder, store, new FileTypeLocalizer(), config).runScan();
+        return store;
+    }
+
+    /**
+     * A {@link FileProcessor} that doesn't scan on activation, so that the benchmark controls when the scan runs
+     * and can time it.
+     */
+    public static class ScanningFileProcessor extends FileProcessor {
+
+        ScanningFileProcessor(WatchService watchService, FileTypeStore store, FileTypeLocalizer localizer) {
+            super(watchService, store, localizer);
+        }
+
+        /**
+         * Scans the corpus on the calling thread, and returns when the results have been published.
+         */
+        public void runScan() {
+            scan();
+        }
+
+        @Override
+        protected void startScan() {
+            // The scan is started by runScan()
+        }
+
+        @Override
+        protected String getCacheVersion() {
+            // There is no framework to ask for the versions
+            return "benchmark";
+        }
+    }
+
+    /**
+     * A {@link WatchService} that reports no events, and only provides the configuration folder.
+     */
+    private static class CorpusWatchService implements WatchService {
+
+        private final Path watchPath;
+
+        CorpusWatchService(Path watchPath) {
+            this.watchPath = watchPath;
+        }
+
+        @Override
+        public void registerListener(WatchEventListener watchEventListener, List<Path> paths,
+                boolean withSubDirectories) {
+        }
+
+        @Override
+        public void unregisterListener(WatchEventListener watchEventListener) {
+        }
+
+        @Override
+        public Path getWatchPath() {
+            return watchPath;
+        }
+    }
+}
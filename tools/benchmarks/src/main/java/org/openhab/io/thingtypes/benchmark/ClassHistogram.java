@@ -0,0 +1,75 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The totals of a class histogram of the live objects of this JVM, taken with {@code jcmd}, which does a full
+ * garbage collection first. The difference between two histograms is the heap retained by what was created in
+ * between.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+final class ClassHistogram {
+
+    long strings;
+    long stringBytes;
+    long arrays;
+    long arrayBytes;
+    long instances;
+    long total;
+
+    private ClassHistogram() {
+    }
+
+    /**
+     * Takes a class histogram of the live objects.
+     *
+     * @return The resulting {@link ClassHistogram}.
+     * @throws IOException If {@code jcmd} can't be run or its output can't be understood.
+     * @throws InterruptedException If interrupted while waiting for {@code jcmd}.
+     */
+    static ClassHistogram take() throws IOException, InterruptedException {
+        Path jcmd = Path.of(System.getProperty("java.home"), "bin", "jcmd");
+        Process process = new ProcessBuilder(jcmd.toString(), Long.toString(ProcessHandle.current().pid()),
+            "GC.class_histogram").redirectErrorStream(true).start();
+        ClassHistogram result = new ClassHistogram();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.trim().split("\\s+");
+                if (columns.length >= 4 && "java.lang.String".equals(columns[3])) {
+                    result.strings = Long.parseLong(columns[1]);
+                    result.stringBytes = Long.parseLong(columns[2]);
+                } else if (columns.length >= 4 && "[B".equals(columns[3])) {
+                    result.arrays = Long.parseLong(columns[1]);
+                    result.arrayBytes = Long.parseLong(columns[2]);
+                } else if (columns.length == 3 && "Total".equals(columns[0])) {
+                    result.instances = Long.parseLong(columns[1]);
+                    result.total = Long.parseLong(columns[2]);
+                }
+            }
+        }
+        if (process.waitFor() != 0 || result.total == 0L) {
+            throw new IOException("Failed to take a class histogram with \"" + jcmd + "\"");
+        }
+        return result;
+    }
+}
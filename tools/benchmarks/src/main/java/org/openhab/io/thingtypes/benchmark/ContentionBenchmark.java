@@ -0,0 +1,156 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.provider.FileChannelTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileDefinitions;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Shard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures channel type lookups while another thread keeps replacing the definitions of corpus files, which is what
+ * happens while files are edited or resynchronized. Readers should not be slowed down by the writer, nor by each
+ * other, so the groups run with one, three and seven readers against one writer. The read time per operation should
+ * stay the same as long as there are enough cores for all the threads. Other reader counts can be run with
+ * {@code -tg <readers>,1}, which overrides the thread distribution of every group.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentionBenchmark {
+
+    private static final int UID_COUNT = 1024;
+
+    private FileTypeStore store = new FileTypeStore();
+    private FileChannelTypeProvider provider = new FileChannelTypeProvider(store, new FileTypeLocalizer());
+    private ChannelTypeUID[] uids = new ChannelTypeUID[0];
+    private List<Path> files = List.of();
+    private List<FileDefinitions> definitions = List.of();
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() {
+            return next++ & (UID_COUNT - 1);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        store = BenchmarkSupport.createPopulatedStore(
+            BenchmarkSupport.createConfig(ThingTypesConfiguration.PARSER_STAX, false, 0));
+        provider = new FileChannelTypeProvider(store, new FileTypeLocalizer());
+        List<ChannelTypeUID> channelTypes = new ArrayList<>();
+        for (Shard shard : store.getSnapshot().shards().values()) {
+            channelTypes.addAll(shard.channelTypes().keySet());
+        }
+        Random random = new Random(42L);
+        uids = new ChannelTypeUID[UID_COUNT];
+        for (int i = 0; i < UID_COUNT; i++) {
+            uids[i] = channelTypes.get(random.nextInt(channelTypes.size()));
+        }
+        List<Path> files = new ArrayList<>();
+        List<FileDefinitions> definitions = new ArrayList<>();
+        for (Path file : BenchmarkSupport.getCorpusFiles()) {
+            FileDefinitions fileDefinitions = store.get(file);
+            if (fileDefinitions != null) {
+                files.add(file);
+                definitions.add(fileDefinitions);
+            }
+        }
+        this.files = files;
+        this.definitions = definitions;
+    }
+
+    @Benchmark
+    @Group("oneReader")
+    @GroupThreads(1)
+    public @Nullable ChannelType oneReaderRead(Cursor cursor) {
+        return read(cursor);
+    }
+
+    @Benchmark
+    @Group("oneReader")
+    @GroupThreads(1)
+    public void oneReaderWrite(Cursor cursor) {
+        write(cursor);
+    }
+
+    @Benchmark
+    @Group("threeReaders")
+    @GroupThreads(3)
+    public @Nullable ChannelType threeReadersRead(Cursor cursor) {
+        return read(cursor);
+    }
+
+    @Benchmark
+    @Group("threeReaders")
+    @GroupThreads(1)
+    public void threeReadersWrite(Cursor cursor) {
+        write(cursor);
+    }
+
+    @Benchmark
+    @Group("sevenReaders")
+    @GroupThreads(7)
+    public @Nullable ChannelType sevenReadersRead(Cursor cursor) {
+        return read(cursor);
+    }
+
+    @Benchmark
+    @Group("sevenReaders")
+    @GroupThreads(1)
+    public void sevenReadersWrite(Cursor cursor) {
+        write(cursor);
+    }
+
+    private @Nullable ChannelType read(Cursor cursor) {
+        return provider.getChannelType(uids[cursor.next()], null);
+    }
+
+    private void write(Cursor cursor) {
+        int i = cursor.next() % files.size();
+        // Both publish a new snapshot, and the types of the file are missing in between, like during an edit
+        store.remove(files.get(i));
+        store.replace(files.get(i), definitions.get(i));
+    }
+}
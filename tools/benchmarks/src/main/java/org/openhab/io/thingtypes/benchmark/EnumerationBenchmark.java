@@ -0,0 +1,83 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.provider.FileThingTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures enumerating all thing types while {@code maxThingTypes} is in effect, which creates the evicted types for
+ * the result only.
+ * <p>
+ * The catalog has {@value #THING_TYPES} thing types, in files with {@code thingTypesPerFile} types each, so that
+ * the cost of reading a file with several evicted types shows. With {@code parseCache}, evicted types are created
+ * from the parse cache instead of by parsing their files. The corpora are generated the first time they're used.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumerationBenchmark {
+
+    private static final int THING_TYPES = 1000;
+
+    @Param({ "0", "100" })
+    public int maxThingTypes;
+
+    @Param({ "1", "10" })
+    public int thingTypesPerFile;
+
+    @Param({ "false", "true" })
+    public boolean parseCache;
+
+    private FileThingTypeProvider provider = new FileThingTypeProvider(new FileTypeStore(), new FileTypeLocalizer());
+
+    @Setup
+    public void setup() {
+        Path corpus = BenchmarkSupport.getCorpusFolder(THING_TYPES / thingTypesPerFile, thingTypesPerFile);
+        FileTypeStore store = BenchmarkSupport.createPopulatedStore(corpus,
+            BenchmarkSupport.createConfig(ThingTypesConfiguration.PARSER_STAX, parseCache, maxThingTypes));
+        provider = new FileThingTypeProvider(store, new FileTypeLocalizer());
+        // Fill the limiter, so that the enumerations don't start from an empty cache
+        for (ThingType thingType : provider.getThingTypes(null)) {
+            provider.getThingType(thingType.getUID(), null);
+        }
+    }
+
+    @Benchmark
+    public Collection<ThingType> allThingTypes() {
+        return provider.getThingTypes(null);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.thingtypes.benchmark.BenchmarkSupport.ScanningFileProcessor;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a complete startup scan of a generated corpus of {@code files} files with one thing type each into an
+ * empty store, which is what happens when openHAB starts.
+ * <p>
+ * The {@code cache} parameter selects how the parse cache is used:
+ * <ul>
+ * <li>{@code off}: the parse cache is disabled.</li>
+ * <li>{@code cold}: the parse cache is enabled but empty, so every file is parsed and written to the cache.</li>
+ * <li>{@code warm}: the parse cache holds every file, so nothing is parsed from XML.</li>
+ * </ul>
+ * With {@code lazyThingTypes}, the scan doesn't create the thing types, which are created on first request instead.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IngestBenchmark {
+
+    @Param({ ThingTypesConfiguration.PARSER_XSTREAM, ThingTypesConfiguration.PARSER_STAX })
+    public String parser = ThingTypesConfiguration.PARSER_XSTREAM;
+
+    @Param({ "off", "cold", "warm" })
+    public String cache = "off";
+
+    @Param({ "3000" })
+    public int files;
+
+    @Param({ "false", "true" })
+    public boolean lazyThingTypes;
+
+    private Path corpus = Path.of("");
+    private @Nullable ScanningFileProcessor processor;
+
+    @Setup(Level.Trial)
+    public void populateCache() {
+        corpus = BenchmarkSupport.getCorpusFolder(files, 1);
+        BenchmarkSupport.deleteParseCache();
+        if ("warm".equals(cache)) {
+            BenchmarkSupport.createPopulatedStore(corpus, BenchmarkSupport.createConfig(parser, true, 0));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        if ("cold".equals(cache)) {
+            BenchmarkSupport.deleteParseCache();
+        }
+        Map<String, Object> config = BenchmarkSupport.createConfig(parser, !"off".equals(cache), 0);
+        config.put("lazyThingTypes", lazyThingTypes);
+        processor = BenchmarkSupport.createProcessor(corpus, new FileTypeStore(), new FileTypeLocalizer(), config);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        ScanningFileProcessor processor = this.processor;
+        if (processor != null) {
+            processor.deactivate();
+        }
+        this.processor = null;
+    }
+
+    @Benchmark
+    public void scan() {
+        ScanningFileProcessor processor = this.processor;
+        if (processor != null) {
+            processor.runScan();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.thingtypes.internal.FileProcessor;
+import org.openhab.io.thingtypes.internal.parser.StaxThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.util.Interner;
+
+/**
+ * Measures the heap saved by {@link Interner} using class histograms, which JMH can't do.
+ * <p>
+ * The element texts and attribute values of every corpus file are read like {@link StaxThingDescriptionReader}
+ * reads them, and kept like the parsed definitions keep them, first as they are and then interned. A histogram of
+ * the live objects is taken with {@code jcmd} before and after each pass, so the difference includes the
+ * {@link Interner} pool itself. Only the JDK and {@link Interner} are used, so this runs without openHAB core.
+ * <p>
+ * Run it from {@code tools/benchmarks} with
+ * {@code java -cp target/benchmarks.jar org.openhab.io.thingtypes.benchmark.InternerFootprint [folder]}, where
+ * {@code folder} contains the XML files and defaults to the corpus.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public final class InternerFootprint {
+
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\n\\s*");
+
+    private InternerFootprint() {
+        // Not to be instantiated
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, XMLStreamException {
+        Path folder = args.length > 0 ? Path.of(args[0]) :
+            BenchmarkSupport.getCorpusFolder().resolve(FileProcessor.FOLDER_NAME);
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(folder)) {
+            files = stream.filter(path -> path.getFileName().toString().endsWith(".xml")).sorted().toList();
+        }
+        System.out.println("Reading " + files.size() + " files from \"" + folder.toAbsolutePath() + "\"");
+
+        ClassHistogram before = ClassHistogram.take();
+        List<String> values = read(files, value -> value);
+        ClassHistogram plain = ClassHistogram.take();
+        print("Without interning", values.size(), before, plain);
+        values = List.of();
+
+        before = ClassHistogram.take();
+        values = read(files, Interner::intern);
+        ClassHistogram interned = ClassHistogram.take();
+        print("With interning", values.size(), before, interned);
+
+        long saved = plain.total - before.total - (interned.total - before.total);
+        System.out.printf("Saved: %,d bytes (%d%% of the values kept without interning)%n", saved,
+            saved * 100L / Math.max(1L, plain.total - before.total));
+    }
+
+    /**
+     * Reads the text of every element without child elements and every attribute value, trimmed and with line breaks
+     * replaced like the parser does.
+     */
+    private static List<String> read(List<Path> files, UnaryOperator<String> canonicalizer)
+            throws IOException, XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        List<String> result = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (Path file : files) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                XMLStreamReader reader = factory.createXMLStreamReader(stream);
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            text.setLength(0);
+                            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                result.add(canonicalizer.apply(reader.getAttributeValue(i)));
+                            }
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            text.append(reader.getText());
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            String value = LINE_BREAK_PATTERN.matcher(text).replaceAll(" ").trim();
+                            if (!value.isEmpty()) {
+                                result.add(canonicalizer.apply(value));
+                            }
+                            text.setLength(0);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                reader.close();
+            }
+        }
+        return result;
+    }
+
+    private static void print(String title, int values, ClassHistogram before, ClassHistogram after) {
+        System.out.printf("%s: %,d values kept, %,d strings using %,d bytes, %,d byte arrays using %,d bytes, " +
+            "%,d bytes in total%n", title, values, after.strings - before.strings,
+            after.stringBytes - before.stringBytes, after.arrays - before.arrays,
+            after.arrayBytes - before.arrayBytes, after.total - before.total);
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.thing.ThingTypeUID;
+import org.openhab.core.thing.type.ChannelType;
+import org.openhab.core.thing.type.ChannelTypeUID;
+import org.openhab.core.thing.type.ThingType;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.provider.FileChannelTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileThingTypeProvider;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Shard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the provider lookups done by openHAB core against a store populated with a generated corpus of
+ * {@code catalogSize} thing types, one per file.
+ * <p>
+ * Core asks every provider for every UID, so most lookups in a real system are misses for UIDs of other bindings.
+ * The {@code mixed} benchmark reproduces that with one hit per hundred lookups. With {@code maxThingTypes} set, thing
+ * types are evicted and created again as they are requested, which only happens when the catalog is larger than the
+ * limit.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    private static final int UID_COUNT = 1024;
+
+    @Param({ "100", "1000", "10000" })
+    public int catalogSize;
+
+    @Param({ "0", "1000" })
+    public int maxThingTypes;
+
+    private FileThingTypeProvider thingTypeProvider = new FileThingTypeProvider(new FileTypeStore(),
+        new FileTypeLocalizer());
+    private FileChannelTypeProvider channelTypeProvider = new FileChannelTypeProvider(new FileTypeStore(),
+        new FileTypeLocalizer());
+    private ThingTypeUID[] thingTypeUIDs = new ThingTypeUID[0];
+    private ThingTypeUID[] missingThingTypeUIDs = new ThingTypeUID[0];
+    private ChannelTypeUID[] channelTypeUIDs = new ChannelTypeUID[0];
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() {
+            return next++ & (UID_COUNT - 1);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        FileTypeStore store = BenchmarkSupport.createPopulatedStore(BenchmarkSupport.getCorpusFolder(catalogSize, 1),
+            BenchmarkSupport.createConfig(ThingTypesConfiguration.PARSER_STAX, false, maxThingTypes));
+        FileTypeLocalizer localizer = new FileTypeLocalizer();
+        thingTypeProvider = new FileThingTypeProvider(store, localizer);
+        channelTypeProvider = new FileChannelTypeProvider(store, localizer);
+
+        List<ThingTypeUID> thingTypes = new ArrayList<>();
+        List<ChannelTypeUID> channelTypes = new ArrayList<>();
+        for (Shard shard : store.getSnapshot().shards().values()) {
+            thingTypes.addAll(shard.thingTypes().keySet());
+            channelTypes.addAll(shard.channelTypes().keySet());
+        }
+        Random random = new Random(42L);
+        thingTypeUIDs = new ThingTypeUID[UID_COUNT];
+        missingThingTypeUIDs = new ThingTypeUID[UID_COUNT];
+        channelTypeUIDs = new ChannelTypeUID[UID_COUNT];
+        for (int i = 0; i < UID_COUNT; i++) {
+            thingTypeUIDs[i] = thingTypes.get(random.nextInt(thingTypes.size()));
+            channelTypeUIDs[i] = channelTypes.get(random.nextInt(channelTypes.size()));
+            // A mix of other bindings and unknown types of the corpus binding
+            missingThingTypeUIDs[i] = (i & 1) == 0 ? new ThingTypeUID("other" + (i % 16), "device" + i) :
+                new ThingTypeUID(thingTypeUIDs[i].getBindingId(), "unknown" + i);
+        }
+    }
+
+    @Benchmark
+    public @Nullable ThingType thingTypeHit(Cursor cursor) {
+        return thingTypeProvider.getThingType(thingTypeUIDs[cursor.next()], null);
+    }
+
+    @Benchmark
+    public @Nullable ThingType thingTypeMiss(Cursor cursor) {
+        return thingTypeProvider.getThingType(missingThingTypeUIDs[cursor.next()], null);
+    }
+
+    @Benchmark
+    public @Nullable ThingType thingTypeMixed(Cursor cursor) {
+        int i = cursor.next();
+        return thingTypeProvider.getThingType(i % 100 == 0 ? thingTypeUIDs[i] : missingThingTypeUIDs[i], null);
+    }
+
+    @Benchmark
+    public @Nullable ChannelType channelTypeHit(Cursor cursor) {
+        return channelTypeProvider.getChannelType(channelTypeUIDs[cursor.next()], null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Collection<ThingType> allThingTypes() {
+        return thingTypeProvider.getThingTypes(null);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int allChannelTypes() {
+        // Iterate, since the collection is a view
+        int count = 0;
+        for (ChannelType channelType : channelTypeProvider.getChannelTypes(null)) {
+            count += channelType.getUID().hashCode() & 1;
+        }
+        return count;
+    }
+}
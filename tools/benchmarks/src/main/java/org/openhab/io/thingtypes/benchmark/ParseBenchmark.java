@@ -0,0 +1,85 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.copied.ThingDescriptionReader;
+import org.openhab.io.thingtypes.internal.parser.StaxThingDescriptionReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time and allocation of parsing a single corpus file with each of the parsers. Each invocation parses
+ * the next file in the corpus, so that the result isn't dominated by a single file.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ ThingTypesConfiguration.PARSER_XSTREAM, ThingTypesConfiguration.PARSER_STAX })
+    public String parser = ThingTypesConfiguration.PARSER_XSTREAM;
+
+    private List<URL> urls = List.of();
+    private int next;
+    private @Nullable ThingDescriptionReader xstreamReader;
+    private @Nullable StaxThingDescriptionReader staxReader;
+
+    @Setup
+    public void setup() throws MalformedURLException {
+        List<URL> result = new ArrayList<>();
+        for (Path file : BenchmarkSupport.getCorpusFiles()) {
+            result.add(file.toUri().toURL());
+        }
+        urls = result;
+        if (ThingTypesConfiguration.PARSER_STAX.equals(parser)) {
+            staxReader = new StaxThingDescriptionReader();
+        } else {
+            xstreamReader = new ThingDescriptionReader();
+        }
+    }
+
+    @Benchmark
+    public @Nullable List<?> parse() {
+        URL url = urls.get(next);
+        next = (next + 1) % urls.size();
+        StaxThingDescriptionReader staxReader = this.staxReader;
+        if (staxReader != null) {
+            return staxReader.readFromXML(url);
+        }
+        ThingDescriptionReader xstreamReader = this.xstreamReader;
+        return xstreamReader == null ? null : xstreamReader.readFromXML(url);
+    }
+}
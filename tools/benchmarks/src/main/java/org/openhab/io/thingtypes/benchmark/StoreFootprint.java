@@ -0,0 +1,76 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.thingtypes.benchmark;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.thingtypes.benchmark.BenchmarkSupport.ScanningFileProcessor;
+import org.openhab.io.thingtypes.internal.ThingTypesConfiguration;
+import org.openhab.io.thingtypes.internal.provider.FileTypeLocalizer;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore;
+import org.openhab.io.thingtypes.internal.provider.FileTypeStore.Shard;
+
+/**
+ * Measures the heap retained by a store populated with a corpus, with thing types created during the scan or on
+ * first request, using class histograms, which JMH can't do.
+ * <p>
+ * Run it from {@code tools/benchmarks} with
+ * {@code java -cp target/benchmarks.jar org.openhab.io.thingtypes.benchmark.StoreFootprint <eager|lazy> [files]},
+ * where {@code files} selects a generated corpus with that many files of one thing type each, and defaults to the
+ * corpus. Run each mode in its own JVM, since the strings and descriptions shared by the first scan would otherwise
+ * be reused by the second.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+@NonNullByDefault
+public final class StoreFootprint {
+
+    private StoreFootprint() {
+        // Not to be instantiated
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || !("eager".equals(args[0]) || "lazy".equals(args[0]))) {
+            System.err.println("Usage: StoreFootprint <eager|lazy> [files]");
+            System.exit(2);
+            return;
+        }
+        boolean lazy = "lazy".equals(args[0]);
+        Path corpus = args.length > 1 ? BenchmarkSupport.getCorpusFolder(Integer.parseInt(args[1]), 1) :
+            BenchmarkSupport.getCorpusFolder();
+        Map<String, Object> config = BenchmarkSupport.createConfig(ThingTypesConfiguration.PARSER_STAX, false, 0);
+        config.put("lazyThingTypes", lazy);
+
+        ClassHistogram before = ClassHistogram.take();
+        FileTypeStore store = new FileTypeStore();
+        ScanningFileProcessor processor = BenchmarkSupport.createProcessor(corpus, store, new FileTypeLocalizer(),
+            config);
+        processor.runScan();
+        ClassHistogram after = ClassHistogram.take();
+
+        int thingTypes = 0;
+        int channelTypes = 0;
+        for (Shard shard : store.getSnapshot().shards().values()) {
+            thingTypes += shard.thingTypes().size();
+            channelTypes += shard.channelTypes().size();
+        }
+        System.out.printf("%s: %,d thing types and %,d channel types from \"%s\" retain %,d objects using %,d bytes, " +
+            "%,d strings using %,d bytes%n", lazy ? "Lazy" : "Eager", thingTypes, channelTypes, corpus,
+            after.instances - before.instances, after.total - before.total, after.strings - before.strings,
+            after.stringBytes - before.stringBytes);
+        Reference.reachabilityFence(store);
+        processor.deactivate();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Thing Type File Provider, an add-on for openHAB for providing ThingTypes from files.
+ * Copyright (c) 2025 Nadahar.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic corpus of {@code thing-descriptions} files that resemble those exported from the Z-Wave
+ * device database, for load and scale testing of the add-on.
+ * <p>
+ * The output is deterministic for a given set of arguments, including the seed. Run it directly with
+ * {@code java ThingTypeCorpusGenerator.java <output folder> [options]}. Use {@code --help} for the options.
+ *
+ * @author Ravi Nadahar - Initial contribution
+ */
+public class ThingTypeCorpusGenerator {
+
+    private static final String[] VENDORS = { "Aeotec", "Fibaro", "Zooz", "Qubino", "Inovelli", "Heatit", "Danfoss",
+        "Eurotronic", "Popp", "Shelly" };
+    private static final String[] DEVICE_KINDS = { "Multisensor", "Wall Switch", "Dimmer", "Door Sensor",
+        "Thermostat", "Smart Plug", "Siren", "Water Sensor", "Roller Shutter", "Keypad" };
+    private static final String[] ITEM_TYPES = { "Switch", "Dimmer", "Number", "Number:Temperature",
+        "Number:Power", "Number:Energy", "Contact", "String", "Rollershutter" };
+    private static final String[] PARAMETER_TOPICS = { "Reporting Interval", "LED Indicator", "Power Failure Mode",
+        "Sensitivity", "Wake Up Behavior", "Auto Off Timer", "Temperature Offset", "Button Mode", "Dim Rate",
+        "Threshold" };
+
+    private final Map<String, Integer> settings = new LinkedHashMap<>();
+    private final Map<String, String> descriptions = new LinkedHashMap<>();
+    private String bindingId = "zwave";
+    private long seed = 1L;
+
+    /**
+     * Creates a new instance with the default settings.
+     */
+    public ThingTypeCorpusGenerator() {
+        setting("files", 100, "number of files");
+        setting("thing-types", 1, "thing types per file");
+        setting("channel-types", 6, "channel types per file");
+        setting("channel-groups", 0, "channel group types per file");
+        setting("parameters", 20, "configuration parameters per thing type");
+        setting("options", 4, "options per parameter or channel type with options");
+        setting("properties", 6, "properties per thing type");
+    }
+
+    private void setting(String name, int defaultValue, String description) {
+        settings.put(name, defaultValue);
+        descriptions.put(name, description);
+    }
+
+    public static void main(String[] args) throws IOException {
+        ThingTypeCorpusGenerator generator = new ThingTypeCorpusGenerator();
+        Path output = null;
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--help".equals(arg) || "-h".equals(arg)) {
+                generator.printUsage();
+                return;
+            } else if (arg.startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    System.err.println("Missing value for " + arg);
+                    System.exit(1);
+                }
+                String name = arg.substring(2);
+                String value = args[++i];
+                if ("seed".equals(name)) {
+                    generator.seed = Long.parseLong(value);
+                } else if ("binding".equals(name)) {
+                    generator.bindingId = value;
+                } else if (generator.settings.containsKey(name)) {
+                    generator.settings.put(name, Math.max(0, Integer.parseInt(value)));
+                } else {
+                    System.err.println("Unknown option " + arg);
+                    System.exit(1);
+                }
+            } else {
+                output = Path.of(arg);
+            }
+        }
+        if (output == null) {
+            generator.printUsage();
+            System.exit(1);
+        }
+        generator.generate(output);
+    }
+
+    private void printUsage() {
+        System.out.println("Usage: java ThingTypeCorpusGenerator.java <output folder> [options]");
+        System.out.println();
+        System.out.println("Options (default value):");
+        System.out.println("  --seed <n>            random seed (" + seed + ")");
+        System.out.println("  --binding <id>        binding ID (" + bindingId + ")");
+        for (Map.Entry<String, Integer> entry : settings.entrySet()) {
+            System.out.println(String.format(Locale.ROOT, "  --%-19s %s (%d)", entry.getKey() + " <n>",
+                descriptions.get(entry.getKey()), entry.getValue()));
+        }
+    }
+
+    /**
+     * Writes the corpus to the specified folder, which is created if it doesn't exist.
+     *
+     * @param folder the output folder.
+     * @throws IOException If an error occurs while writing.
+     */
+    public void generate(Path folder) throws IOException {
+        Files.createDirectories(folder);
+        Random random = new Random(seed);
+        int files = settings.get("files");
+        int definitions = 0;
+        for (int i = 0; i < files; i++) {
+            // Each file gets its own seed, so that the content of a file doesn't depend on the number of files
+            Random fileRandom = new Random(random.nextLong());
+            Path file = folder.resolve(String.format(Locale.ROOT, "%s-device-%05d.xml", bindingId, i));
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                definitions += writeFile(writer, i, fileRandom);
+            }
+        }
+        System.out.println("Wrote " + files + " files with " + definitions + " definitions to " + folder.toAbsolutePath());
+    }
+
+    private int writeFile(Writer writer, int index, Random random) throws IOException {
+        String prefix = String.format(Locale.ROOT, "d%05d", index);
+        String vendor = pick(random, VENDORS);
+        int definitions = 0;
+
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<thing:thing-descriptions bindingId=\"" + bindingId + "\"\n");
+        writer.write("\txmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n");
+        writer.write("\txmlns:thing=\"https://openhab.org/schemas/thing-description/v1.0.0\"\n");
+        writer.write("\txsi:schemaLocation=\"https://openhab.org/schemas/thing-description/v1.0.0 ");
+        writer.write("https://openhab.org/schemas/thing-description-1.0.0.xsd\">\n\n");
+
+        List<String> channelTypeIds = new ArrayList<>();
+        for (int i = 0; i < settings.get("channel-types"); i++) {
+            String id = prefix + "_channel_" + i;
+            channelTypeIds.add(id);
+            writeChannelType(writer, id, random);
+            definitions++;
+        }
+
+        List<String> channelGroupTypeIds = new ArrayList<>();
+        for (int i = 0; i < settings.get("channel-groups"); i++) {
+            String id = prefix + "_group_" + i;
+            channelGroupTypeIds.add(id);
+            writer.write("\t<channel-group-type id=\"" + id + "\">\n");
+            writer.write("\t\t<label>Endpoint " + (i + 1) + "</label>\n");
+            writeChannels(writer, "\t\t", channelTypeIds, random);
+            writer.write("\t</channel-group-type>\n\n");
+            definitions++;
+        }
+
+        for (int i = 0; i < settings.get("thing-types"); i++) {
+            String model = String.format(Locale.ROOT, "%s%03d", vendor.substring(0, 2).toUpperCase(Locale.ROOT),
+                random.nextInt(1000));
+            writeThingType(writer, prefix + "_" + i, vendor, model, channelTypeIds, channelGroupTypeIds, random);
+            definitions++;
+        }
+        writer.write("</thing:thing-descriptions>\n");
+        return definitions;
+    }
+
+    private void writeChannelType(Writer writer, String id, Random random) throws IOException {
+        String itemType = pick(random, ITEM_TYPES);
+        writer.write("\t<channel-type id=\"" + id + "\"" + (random.nextInt(4) == 0 ? " advanced=\"true\"" : "")
+            + ">\n");
+        writer.write("\t\t<item-type>" + itemType + "</item-type>\n");
+        String name = itemType.substring(itemType.indexOf(':') + 1);
+        writer.write("\t\t<label>" + escape(name + " " + id) + "</label>\n");
+        writer.write("\t\t<description>Reports the " + escape(name.toLowerCase(Locale.ROOT))
+            + " value of the device</description>\n");
+        if (itemType.startsWith("Number")) {
+            writer.write("\t\t<state pattern=\"%.1f %unit%\" readOnly=\"true\"/>\n");
+        } else if ("String".equals(itemType)) {
+            writer.write("\t\t<state>\n\t\t\t<options>\n");
+            for (int i = 0; i < settings.get("options"); i++) {
+                writer.write("\t\t\t\t<option value=\"" + i + "\">State " + i + "</option>\n");
+            }
+            writer.write("\t\t\t</options>\n\t\t</state>\n");
+        }
+        writer.write("\t</channel-type>\n\n");
+    }
+
+    private void writeThingType(Writer writer, String id, String vendor, String model, List<String> channelTypeIds,
+            List<String> channelGroupTypeIds, Random random) throws IOException {
+        String label = model + " " + pick(random, DEVICE_KINDS);
+        writer.write("\t<thing-type id=\"" + id + "\" listed=\"false\">\n");
+        writer.write("\t\t<label>" + escape(label) + "</label>\n");
+        writer.write("\t\t<description><![CDATA[\n" + escape(vendor) + " " + escape(label) + "<br /> <h1>Overview</h1>"
+            + "<p>Synthetic device generated for testing.</p>\n]]></description>\n");
+        if (channelGroupTypeIds.isEmpty()) {
+            writeChannels(writer, "\t\t", channelTypeIds, random);
+        } else {
+            writer.write("\t\t<channel-groups>\n");
+            for (int i = 0; i < channelGroupTypeIds.size(); i++) {
+                writer.write("\t\t\t<channel-group id=\"endpoint" + (i + 1) + "\" typeId=\""
+                    + channelGroupTypeIds.get(i) + "\"/>\n");
+            }
+            writer.write("\t\t</channel-groups>\n");
+        }
+
+        int properties = settings.get("properties");
+        if (properties > 0) {
+            writer.write("\t\t<properties>\n");
+            writeProperty(writer, "vendor", vendor);
+            writeProperty(writer, "modelId", model);
+            String[] generated = { "manufacturerId", "manufacturerRef", "dbReference", "defaultAssociations",
+                "zwavePlusDeviceType", "zwavePlusRoleType" };
+            for (int i = 2; i < properties; i++) {
+                String name = i - 2 < generated.length ? generated[i - 2] : "property" + i;
+                writeProperty(writer, name, String.format(Locale.ROOT, "%04X", random.nextInt(0x10000)));
+            }
+            writer.write("\t\t</properties>\n");
+        }
+
+        writer.write("\t\t<config-description>\n");
+        writer.write("\t\t\t<parameter-group name=\"configuration\">\n");
+        writer.write("\t\t\t\t<context>setup</context>\n\t\t\t\t<label>Configuration Parameters</label>\n");
+        writer.write("\t\t\t</parameter-group>\n");
+        for (int i = 1; i <= settings.get("parameters"); i++) {
+            writeParameter(writer, i, random);
+        }
+        writer.write("\t\t</config-description>\n");
+        writer.write("\t</thing-type>\n\n");
+    }
+
+    private void writeChannels(Writer writer, String indent, List<String> channelTypeIds, Random random)
+            throws IOException {
+        if (channelTypeIds.isEmpty()) {
+            return;
+        }
+        writer.write(indent + "<channels>\n");
+        for (int i = 0; i < channelTypeIds.size(); i++) {
+            writer.write(indent + "\t<channel id=\"channel" + i + "\" typeId=\"" + channelTypeIds.get(i) + "\">\n");
+            writer.write(indent + "\t\t<label>Channel " + i + "</label>\n");
+            writer.write(indent + "\t\t<properties>\n");
+            writer.write(indent + "\t\t\t<property name=\"binding:*:OnOffType\">COMMAND_CLASS_SWITCH_BINARY;endpoint="
+                + random.nextInt(4) + "</property>\n");
+            writer.write(indent + "\t\t</properties>\n");
+            writer.write(indent + "\t</channel>\n");
+        }
+        writer.write(indent + "</channels>\n");
+    }
+
+    private void writeParameter(Writer writer, int index, Random random) throws IOException {
+        String topic = pick(random, PARAMETER_TOPICS);
+        int size = 1 << random.nextInt(3);
+        int options = settings.get("options");
+        boolean withOptions = options > 0 && random.nextBoolean();
+        long max = withOptions ? options - 1 : (1L << (8 * size - 1)) - 1;
+        writer.write("\t\t\t<parameter name=\"config_" + index + "_" + size + "\" type=\"integer\" groupName=\"configuration\""
+            + (withOptions ? "" : " min=\"0\" max=\"" + max + "\"") + ">\n");
+        writer.write("\t\t\t\t<label>" + index + ": " + escape(topic) + "</label>\n");
+        writer.write("\t\t\t\t<description><![CDATA[\nSets the " + escape(topic.toLowerCase(Locale.ROOT))
+            + " of the device.<br /> <h1>Overview</h1><p>Parameter " + index + ", size " + size
+            + " byte(s).</p>\n]]></description>\n");
+        writer.write("\t\t\t\t<default>" + random.nextInt((int) Math.min(max, 100L) + 1) + "</default>\n");
+        if (withOptions) {
+            writer.write("\t\t\t\t<options>\n");
+            for (int i = 0; i < options; i++) {
+                writer.write("\t\t\t\t\t<option value=\"" + i + "\">" + escape(topic) + " mode " + i + "</option>\n");
+            }
+            writer.write("\t\t\t\t</options>\n");
+        }
+        if (random.nextInt(3) == 0) {
+            writer.write("\t\t\t\t<advanced>true</advanced>\n");
+        }
+        writer.write("\t\t\t\t<limitToOptions>" + withOptions + "</limitToOptions>\n");
+        writer.write("\t\t\t</parameter>\n");
+    }
+
+    private static void writeProperty(Writer writer, String name, String value) throws IOException {
+        writer.write("\t\t\t<property name=\"" + escape(name) + "\">" + escape(value) + "</property>\n");
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}